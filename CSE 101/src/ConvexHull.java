@@ -1,19 +1,71 @@
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
-import java.util.TreeSet;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 public class ConvexHull
 {
+	/*
+	 * How findShells() peels the layers.
+	 * JARVIS: gift wrapping over every remaining point for every hull point.
+	 * MONOTONE_CHAIN: Andrew's monotone chain over the outer band of points.
+	 */
+	public enum ShellEngine { JARVIS, MONOTONE_CHAIN }
+	
+	/*
+	 * How findHull() computes the outermost layer.
+	 * SEQUENTIAL: one pass on the calling thread.
+	 * PARALLEL: split across ForkJoin tasks, sub-hulls merged pairwise.
+	 */
+	public enum HullStrategy { SEQUENTIAL, PARALLEL }
+	
+	private static final int MIN_BAND = 64;               //fewest points a monotone chain layer looks at
+	private static final int HULL_LEAF_SIZE = 1 << 15;    //most points a findHull() task hulls itself
+	
 	private int numOfPoints;                             //number of points within the Unit Circle
-	private List<Point> pointList = new ArrayList<Point>();  //Set of all points
+	private PointStore points;                           //Set of all points, as coordinate arrays
+	private SplittableRandom random;                     //source of the random points
+	private ShellEngine shellEngine = ShellEngine.JARVIS; //how findShells() peels
+	private HullStrategy hullStrategy = HullStrategy.SEQUENTIAL; //how findHull() works
+	private ForkJoinPool pool = ForkJoinPool.commonPool(); //where PARALLEL findHull() runs
+	private boolean culling;                             //Jarvis layers skip points inside the octagon
+	private List<LayerStats> layerStats = new ArrayList<LayerStats>(); //one per Jarvis layer
+	private double centerX;                              //centre the monotone chain bands are measured from
+	private double centerY;
 	
 	public ConvexHull( int p )                           //Constructor sets number of points
 	{
+		this(p, new SplittableRandom());
+	}
+	
+	public ConvexHull( int p, long seed )                //same seed gives the same points
+	{
+		this(p, new SplittableRandom(seed));
+	}
+	
+	/*
+	 * SplittableRandom is not thread-safe; give each hull its own
+	 * generator, e.g. a split() of a shared one.
+	 */
+	public ConvexHull( int p, SplittableRandom random )
+	{
+		this.random = random;
 		setNumOfPoints(p);                               //sets numOfPoints
+		points = new PointStore(p);
 		createPointList();                                //creates random set of points
 	}
+	
+	/*
+	 * Peels points that are already stored, e.g. loaded by PointFile.
+	 * The hull takes the store over and reorders it as it peels.
+	 */
+	public ConvexHull( PointStore points )
+	{
+		setNumOfPoints(points.size());
+		this.points = points;
+	}
 
 	/*Method to create randomized set of points
 	 * within a unit circle of Radius 1.
@@ -21,23 +73,17 @@ public class ConvexHull
 	private void createPointList()                        
 	{
 		for ( int i = 0; i < getNumOfPoints(); i++ ) //until all points are created
-		{
-			Point rp = randomPoint();                //random point created
-			//System.out.print("Randomly generated point " + i + " at ");
-			//rp.printLocation();
-			
-			pointList.add(rp);
-		}
+			randomPoint();                           //random point created
 	}
 
 	/*
 	 * Creates a random point in polar coords
-	 * within a Unit Circle and returns it
+	 * within a Unit Circle and stores it
 	 */
-	private Point randomPoint()
+	private void randomPoint()
 	{
-		double u = Math.random() + Math.random();  //initial radius to random value
-		double t = Math.random()*2*Math.PI;        //random angle set
+		double u = random.nextDouble() + random.nextDouble();  //initial radius to random value
+		double t = random.nextDouble()*2*Math.PI;  //random angle set
 		double r;                                  //final radius
 		
 		if ( u > 1 )                               //check if u is within Unit circle
@@ -45,7 +91,7 @@ public class ConvexHull
 		else
 			r = u;                                 //set final radius to u
 		
-		return new Point( r*Math.cos(t), r*Math.sin(t) ); //returns Point
+		points.add( r*Math.cos(t), r*Math.sin(t) ); //stores the Point
 	}
 	
 	private int getNumOfPoints()
@@ -58,6 +104,161 @@ public class ConvexHull
 		this.numOfPoints = p;
 	}
 	
+	public ShellEngine getShellEngine()
+	{
+		return shellEngine;
+	}
+	
+	public void setShellEngine( ShellEngine shellEngine )
+	{
+		this.shellEngine = shellEngine;
+	}
+	
+	public HullStrategy getHullStrategy()
+	{
+		return hullStrategy;
+	}
+	
+	public void setHullStrategy( HullStrategy hullStrategy )
+	{
+		this.hullStrategy = hullStrategy;
+	}
+	
+	public void setPool( ForkJoinPool pool )
+	{
+		this.pool = pool;
+	}
+	
+	public boolean isCulling()
+	{
+		return culling;
+	}
+	
+	/*
+	 * With culling on, each Jarvis layer first drops the points strictly
+	 * inside the octagon of the live points' extremes (Akl-Toussaint). They
+	 * cannot be on this layer, so the wrap skips them; they stay live for
+	 * the layers after.
+	 */
+	public void setCulling( boolean culling )
+	{
+		this.culling = culling;
+	}
+	
+	/*
+	 * What each layer of the last JARVIS findShells() cost
+	 */
+	public List<LayerStats> getLayerStats()
+	{
+		return layerStats;
+	}
+	
+	public void printLayerStats()
+	{
+		System.out.println("Layer     Points  Candidates  Corners  Culling Tests  Wrapping Tests  Tests Saved");
+		
+		for (int i = 0; i < layerStats.size(); i++) {
+			LayerStats l = layerStats.get(i);
+			System.out.format("%5d  %9d  %10d  %7d  %13d  %14d  %11d%n", i + 1, l.getPoints(),
+					l.getCandidates(), l.getCorners(), l.getCullingTests(), l.getWrappingTests(),
+					l.getTestsSaved());
+		}
+	}
+	
+	/*
+	 * Hulls a range of point indices: small ranges directly, larger ones by
+	 * hulling the corners of both halves' hulls.
+	 */
+	private class HullTask extends RecursiveTask<int[]>
+	{
+		private static final long serialVersionUID = 1L;
+		
+		private int[] indices;
+		private int from;
+		private int to;
+		
+		public HullTask( int[] indices, int from, int to )
+		{
+			this.indices = indices;
+			this.from = from;
+			this.to = to;
+		}
+		
+		@Override
+		protected int[] compute()
+		{
+			if (to - from <= HULL_LEAF_SIZE)
+				return hullOf(indices, from, to);
+			
+			int middle = (from + to) >>> 1;
+			HullTask left = new HullTask(indices, from, middle);
+			HullTask right = new HullTask(indices, middle, to);
+			
+			left.fork();
+			int[] rightHull = right.compute();
+			int[] leftHull = left.join();
+			
+			int[] corners = Arrays.copyOf(leftHull, leftHull.length + rightHull.length);
+			System.arraycopy(rightHull, 0, corners, leftHull.length, rightHull.length);
+			
+			return chainOf(corners, 0, corners.length);
+		}
+	}
+	
+	/*
+	 * What one Jarvis layer cost: the live points it started from, the
+	 * candidates left after culling (all of them without), the corners found
+	 * and the orientation tests spent culling and wrapping.
+	 */
+	public static class LayerStats
+	{
+		private int points;
+		private int candidates;
+		private int corners;
+		private long cullingTests;
+		private long wrappingTests;
+		
+		public LayerStats( int points )
+		{
+			this.points = points;
+			this.candidates = points;
+		}
+		
+		public int getPoints()
+		{
+			return points;
+		}
+		
+		public int getCandidates()
+		{
+			return candidates;
+		}
+		
+		public int getCorners()
+		{
+			return corners;
+		}
+		
+		public long getCullingTests()
+		{
+			return cullingTests;
+		}
+		
+		public long getWrappingTests()
+		{
+			return wrappingTests;
+		}
+		
+		/*
+		 * Every wrapping step scanned the candidates instead of all the
+		 * points; less what the culling itself cost
+		 */
+		public long getTestsSaved()
+		{
+			return (long) corners*(points - candidates) - cullingTests;
+		}
+	}
+	
 	/*
 	 * Point class for ConvexHull.
 	 * Made Comparable to be used within SetTree
@@ -103,13 +304,32 @@ public class ConvexHull
 			return false;
 		}
 		
+		@Override
+		public boolean equals( Object o )
+		{
+			return (o instanceof Point) && equals((Point) o);
+		}
+		
+		@Override
+		public int hashCode()
+		{
+			return 31*Double.hashCode(getX() + 0.0) + Double.hashCode(getY() + 0.0);
+		}
+		
+		/*
+		 * Left to right, then bottom to top, so only equal points compare 0
+		 */
 		public int compareTo( Point other )
 		{
 			if( other.getX() < getX() )
 				return 1;
-			else if( other.getX() == getX() )
-				return 0;
-			return -1;
+			else if( other.getX() > getX() )
+				return -1;
+			else if( other.getY() < getY() )
+				return 1;
+			else if( other.getY() > getY() )
+				return -1;
+			return 0;
 		}
 
 	}
@@ -119,57 +339,226 @@ public class ConvexHull
 	 */
 	public int listSize()
 	{
-		return pointList.size();
+		return points.live();
+	}
+	
+	/*
+	 * The outermost layer of the points not yet peeled, counterclockwise
+	 * from the leftmost: the points findShells() would peel first. Leaves
+	 * the points in place.
+	 */
+	public Point[] findHull()
+	{
+		int[] live = Arrays.copyOf(points.order(), points.live());
+		int[] hull;
+		
+		if (getHullStrategy() == HullStrategy.PARALLEL)
+			hull = pool.invoke(new HullTask(live, 0, live.length));
+		else
+			hull = hullOf(live, 0, live.length);
+		
+		Point[] corners = new Point[hull.length];
+		for (int i = 0; i < hull.length; i++)
+			corners[i] = new Point( points.getX(hull[i]), points.getY(hull[i]) );
+		
+		return corners;
+	}
+	
+	/*
+	 * A DynamicHull of the points not yet peeled, to go on inserting and
+	 * removing points from
+	 */
+	public DynamicHull toDynamicHull()
+	{
+		DynamicHull dynamicHull = new DynamicHull();
+		int[] order = points.order();
+		
+		for (int i = 0; i < points.live(); i++)
+			dynamicHull.insert(new Point( points.getX(order[i]), points.getY(order[i]) ));
+		
+		return dynamicHull;
+	}
+	
+	/*
+	 * Hull of indices[from..to-1], which it reorders. Points strictly inside
+	 * the octagon of their extremes in x, y, x+y and x-y cannot be corners,
+	 * so only the rest are sorted and chained; in a disk that drops about
+	 * nine in ten before the O(m log m) part.
+	 */
+	private int[] hullOf( int[] indices, int from, int to )
+	{
+		if (from == to)
+			return new int[0];
+		
+		int[] octagon = extremes(indices, from, to);
+		int kept = from;
+		
+		for (int i = from; i < to; i++) {
+			int p = indices[i];
+			if (edgesCleared(octagon, p) < 8)
+				indices[kept++] = p;
+		}
+		
+		return chainOf(indices, from, kept);
+	}
+	
+	/*
+	 * Hull corners of indices[from..to-1], which it sorts by x
+	 */
+	private int[] chainOf( int[] indices, int from, int to )
+	{
+		int n = to - from;
+		int[] band = (from == 0) ? indices : Arrays.copyOfRange(indices, from, to);
+		int[] chain = new int[2*n + 1];
+		
+		points.sortLeftToRight(band, 0, n);
+		int top = monotoneChain(band, n, chain);
+		int corners = (top < 2) ? top : top - 1;  //the chain ends on its first point again
+		
+		int[] hull = new int[corners];
+		for (int k = 0; k < corners; k++)
+			hull[k] = band[chain[k]];
+		
+		return hull;
+	}
+	
+	/*
+	 * Points with the least y, greatest x-y, greatest x, greatest x+y,
+	 * greatest y, least x-y, least x and least x+y: an octagon,
+	 * counterclockwise, whose corners may repeat.
+	 */
+	private int[] extremes( int[] indices, int from, int to )
+	{
+		int[] octagon = new int[8];
+		Arrays.fill(octagon, indices[from]);
+		
+		for (int i = from + 1; i < to; i++) {
+			int p = indices[i];
+			double x = points.getX(p);
+			double y = points.getY(p);
+			
+			if (y < points.getY(octagon[0])) octagon[0] = p;
+			if (x - y > points.getX(octagon[1]) - points.getY(octagon[1])) octagon[1] = p;
+			if (x > points.getX(octagon[2])) octagon[2] = p;
+			if (x + y > points.getX(octagon[3]) + points.getY(octagon[3])) octagon[3] = p;
+			if (y > points.getY(octagon[4])) octagon[4] = p;
+			if (x - y < points.getX(octagon[5]) - points.getY(octagon[5])) octagon[5] = p;
+			if (x < points.getX(octagon[6])) octagon[6] = p;
+			if (x + y < points.getX(octagon[7]) + points.getY(octagon[7])) octagon[7] = p;
+		}
+		
+		return octagon;
+	}
+	
+	/*
+	 * How many of the octagon's edges, in order, p is strictly left of before
+	 * one it is not: 8 means strictly inside. A repeated corner makes an edge
+	 * of length zero, which nothing is left of.
+	 */
+	private int edgesCleared( int[] octagon, int p )
+	{
+		int k = 0;
+		
+		while (k < 8 && points.orientation(octagon[k], octagon[(k + 1) & 7], p) == -1)
+			k++;
+		
+		return k;
 	}
 	
+	/*
+	 * Copies the first live entries of order that are not strictly inside
+	 * their octagon into candidates, keeping their order, and returns how
+	 * many there were.
+	 */
+	private int cullInterior( int[] order, int live, int[] candidates, LayerStats stats )
+	{
+		int[] octagon = extremes(order, 0, live);
+		int kept = 0;
+		
+		for (int i = 0; i < live; i++) {
+			int p = order[i];
+			int cleared = edgesCleared(octagon, p);
+			
+			stats.cullingTests += Math.min(cleared + 1, 8);
+			if (cleared < 8)
+				candidates[kept++] = p;
+		}
+		
+		return kept;
+	}
+	
+	/*
+	 * Peels the points into convex layers and returns how many there were.
+	 * Consumes the points whichever engine is set.
+	 */
 	public int findShells() {
+		if (getShellEngine() == ShellEngine.MONOTONE_CHAIN)
+			return findShellsMonotone();
+		
+		int[] order = points.order();
+		int[] snapshot = new int[points.live()];      //the layer's candidate points, in order
+		boolean[] onHull = new boolean[points.size()];
 		int iterations = 0;
 		
-		while (!pointList.isEmpty()) {
-			if (pointList.size() > 3) {
-				int a = 0;
-				Point[] points = new Point[pointList.size()];
-				List<Point> hull = new ArrayList<Point>();
-				Point pointOnHull = findSource();
-				Iterator<Point> iterator = pointList.iterator();
-				//System.out.print("Source at " );
-				//pointOnHull.printLocation();
-				Point current;
+		layerStats.clear();
+		
+		while (points.live() > 0) {
+			if (points.live() > 3) {
+				int live = points.live();
+				int pointOnHull = findSourceIndex();
+				int source = pointOnHull;
+				int current;
+				LayerStats stats = new LayerStats(live);
+				int candidates;
 				
-				while (iterator.hasNext()) {
-					points[a] = iterator.next();
-					//System.out.print("Point in array with coords ");
-					//points[a].printLocation();
-					++a;
+				if (isCulling())
+					candidates = cullInterior(order, live, snapshot, stats);
+				else {
+					System.arraycopy(order, 0, snapshot, 0, live);
+					candidates = live;
 				}
-				//System.out.println("Iteration " + iterations + " array size is: " + points.length);
-				pointList.remove(pointOnHull);
+				stats.candidates = candidates;
 				
+				//from a corner, the next corner has nothing strictly left of it;
+				//of several in line the farthest, so copies of a point and
+				//points along an edge are never corners and the wrap must close
 				do {
-					hull.add(pointOnHull);
-					//System.out.print("pointOnHull is ");
-					//pointOnHull.printLocation();
-					current = points[0];
-					//System.out.print("current is ");
-					//current.printLocation();
-					for (int i = 1; i < points.length; i++) {
-						Point nextPoint = points[i];
-						//System.out.println("inside array loop");
-						if (current.equals(pointOnHull) || 
-						    (orientation(pointOnHull, current, nextPoint) == -1)) {
-							//System.out.println("inside orientation if");
+					if (stats.corners == candidates)
+						throw new IllegalStateException("gift wrapping did not close");
+					onHull[pointOnHull] = true;
+					++stats.corners;
+					current = snapshot[0];
+					for (int i = 1; i < candidates; i++) {
+						int nextPoint = snapshot[i];
+						++stats.wrappingTests;
+						int turn = points.orientation(pointOnHull, current, nextPoint);
+						if (turn == -1 || (turn == 0 && points.farther(pointOnHull, nextPoint, current)))
 							current = nextPoint;
-						}
 					}
 					pointOnHull = current;
-					pointList.remove(pointOnHull);
-					//System.out.println("Size of hull" + iterations + " is: " + hull.size());
 				}
-				while (!current.equals(hull.get(0)));
+				while (!points.coincide(current, source));
+				
+				int kept = 0;                         //the rest keep their order, hull to the back
+				for (int i = 0; i < live; i++)
+					if (!onHull[order[i]])
+						order[kept++] = order[i];
+				
+				int peeled = live;
+				for (int i = 0; i < candidates; i++) {
+					int p = snapshot[i];
+					if (onHull[p]) {
+						onHull[p] = false;
+						order[--peeled] = p;
+					}
+				}
+				
+				points.setLive(kept);
+				layerStats.add(stats);
 				++iterations;
 			}
 			else {
-				pointList.clear();
+				points.setLive(0);
 				++iterations;
 			}
 		}
@@ -177,19 +566,209 @@ public class ConvexHull
 		return iterations;
 	}
 	
+	/*
+	 * Same layers as the Jarvis loop, built with Andrew's monotone chain, but
+	 * a layer only looks at the outer band of the points left. The points
+	 * wait in a pool sorted by distance from a centre c, farthest first, and
+	 * are pulled into the band, kept sorted by x, as needed. The band's hull
+	 * is the layer once every edge passes farther from c than the next point
+	 * in the pool lies: all the pool is then strictly inside it. Otherwise the
+	 * band doubles. Hull points leave the band; the rest stay for the next
+	 * layer, so each point is sorted by x once.
+	 *
+	 * On a disk the band holds a small multiple of a layer, so the peel costs
+	 * O(n log n) for the sorts plus O(band) per layer, rather than O(n) per
+	 * layer. If a layer empties the pool, c moves to the centroid of what is
+	 * left and the band goes back into the pool, so skewed sets recover.
+	 */
+	private int findShellsMonotone()
+	{
+		int[] pool = Arrays.copyOf(points.order(), points.live());
+		int[] band = new int[pool.length];            //sorted by x
+		int[] merged = new int[pool.length];          //scratch for merging into band
+		int[] chain = new int[2*pool.length];         //positions in band, used as a stack
+		boolean[] onHull = new boolean[pool.length];
+		double[] farness = new double[points.size()]; //minus the distance from the centre
+		int next = 0;                                 //pool[next..] not yet in the band
+		int bandSize = 0;
+		int iterations = 0;
+		
+		points.setLive(0);
+		recenter(pool, 0, pool.length, farness);
+		
+		while (bandSize + pool.length - next > 3) {
+			boolean pooled = next < pool.length;
+			int top = monotoneChain(band, bandSize, chain);
+			
+			while (next < pool.length && !enclosesRest(band, chain, top, farness[pool[next]])) {
+				int end = Math.min(pool.length, next + Math.max(MIN_BAND, bandSize));
+				
+				points.sortLeftToRight(pool, next, end);
+				bandSize = merge(band, bandSize, pool, next, end, merged);
+				next = end;
+				
+				int[] swap = band;
+				band = merged;
+				merged = swap;
+				
+				top = monotoneChain(band, bandSize, chain);
+			}
+			
+			for (int k = 0; k < top; k++)
+				onHull[chain[k]] = true;
+			
+			int kept = 0;
+			for (int i = 0; i < bandSize; i++) {
+				if (onHull[i])
+					onHull[i] = false;
+				else
+					band[kept++] = band[i];
+			}
+			bandSize = kept;
+			
+			if (pooled && next == pool.length && bandSize > MIN_BAND) {
+				System.arraycopy(band, 0, pool, pool.length - bandSize, bandSize);
+				next = pool.length - bandSize;
+				bandSize = 0;
+				recenter(pool, next, pool.length, farness);
+			}
+			
+			++iterations;
+		}
+		
+		if (bandSize + pool.length - next > 0)        //three or fewer points make the last layer
+			++iterations;
+		
+		return iterations;
+	}
+	
+	/*
+	 * Merges band[0..bandSize-1] and pool[from..to-1], both sorted by x, into
+	 * merged and returns its size.
+	 */
+	private int merge( int[] band, int bandSize, int[] pool, int from, int to, int[] merged )
+	{
+		int i = 0;
+		int j = from;
+		int k = 0;
+		
+		while (i < bandSize && j < to)
+			merged[k++] = points.leftOf(pool[j], band[i]) ? pool[j++] : band[i++];
+		while (i < bandSize)
+			merged[k++] = band[i++];
+		while (j < to)
+			merged[k++] = pool[j++];
+		
+		return k;
+	}
+	
+	/*
+	 * Chains band[0..n-1], sorted by x, into its hull: lower chain left to
+	 * right, then upper chain right to left, keeping left turns only. Copies
+	 * of a point take part only once, as their first in band. Leaves the
+	 * hull counterclockwise in chain[0..top-1], first point repeated at the
+	 * end unless there is only one, and returns top.
+	 */
+	private int monotoneChain( int[] band, int n, int[] chain )
+	{
+		int top = 0;
+		
+		for (int i = 0; i < n; i++) {
+			if (i > 0 && points.coincide(band[i], band[i-1]))
+				continue;
+			while (top >= 2 && points.orientation(band[chain[top-2]], band[chain[top-1]], band[i]) != -1)
+				--top;
+			chain[top++] = i;
+		}
+		
+		int lowerTop = top + 1;
+		for (int i = (top > 0) ? chain[top-1] - 1 : -1; i >= 0; i--) {
+			if (i > 0 && points.coincide(band[i], band[i-1]))
+				continue;
+			while (top >= lowerTop && points.orientation(band[chain[top-2]], band[chain[top-1]], band[i]) != -1)
+				--top;
+			chain[top++] = i;
+		}
+		
+		return top;
+	}
+	
+	/*
+	 * True if every point with at least the given farness (no farther from
+	 * the centre) is strictly inside the hull in chain: the hull must have
+	 * three corners and each edge's line must clear the centre by more than
+	 * that distance, with a relative margin for rounding.
+	 */
+	private boolean enclosesRest( int[] band, int[] chain, int top, double farness )
+	{
+		double reach = -farness;
+		
+		if (top < 4)
+			return false;
+		
+		for (int k = 0; k + 1 < top; k++) {
+			int a = band[chain[k]];
+			int b = band[chain[k+1]];
+			double ax = points.getX(a);
+			double ay = points.getY(a);
+			double ex = points.getX(b) - ax;
+			double ey = points.getY(b) - ay;
+			double cross = ex*(centerY - ay) - ey*(centerX - ax);
+			double length = Math.sqrt(ex*ex + ey*ey);
+			
+			if (!(cross > length*(reach + 1e-9*(reach + Math.hypot(centerX - ax, centerY - ay)))))
+				return false;
+		}
+		
+		return true;
+	}
+	
+	/*
+	 * Moves the centre to the centroid of pool[from..to-1], records their
+	 * farness from it and sorts them farthest first.
+	 */
+	private void recenter( int[] pool, int from, int to, double[] farness )
+	{
+		double sumX = 0.0;
+		double sumY = 0.0;
+		
+		for (int i = from; i < to; i++) {
+			sumX += points.getX(pool[i]);
+			sumY += points.getY(pool[i]);
+		}
+		
+		centerX = sumX/Math.max(1, to - from);
+		centerY = sumY/Math.max(1, to - from);
+		
+		for (int i = from; i < to; i++) {
+			double dx = points.getX(pool[i]) - centerX;
+			double dy = points.getY(pool[i]) - centerY;
+			farness[pool[i]] = -Math.sqrt(dx*dx + dy*dy);
+		}
+		
+		points.sortByKey(pool, from, to, farness);
+	}
+	
 	/*
 	 * finds left most source point to start iterative shelling from
 	 */
 	public Point findSource()
 	{
-		Iterator<Point> itr = pointList.iterator();
-		Point source = itr.next();
+		int source = findSourceIndex();
+		
+		return new Point( points.getX(source), points.getY(source) );
+	}
+	
+	private int findSourceIndex()
+	{
+		int[] order = points.order();
+		int source = order[0];
 		
-		while( itr.hasNext() )
+		for ( int i = 1; i < points.live(); i++ )
 		{
-			Point p = itr.next();
+			int p = order[i];
 			
-			if( source.getX() > p.getX() )
+			if( points.leftOf(p, source) )          //lowest of the leftmost, surely a corner
 				source = p;
 		}
 		
@@ -202,12 +781,6 @@ public class ConvexHull
 	 */
 	public int orientation( Point p1, Point p2, Point p )
 	{
-		double val = (p2.getX() - p1.getX())*(p.getY() - p1.getY()) -
-				  (p.getX() - p1.getX())*(p2.getY() - p1.getY());
-		if (val > 0)
-			return -1;
-		if (val < 0)
-			return 1;
-		return 0;	    
+		return Predicates.orientation(p1.getX(), p1.getY(), p2.getX(), p2.getY(), p.getX(), p.getY());
 	}
 }
\ No newline at end of file
@@ -0,0 +1,652 @@
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.List;
+
+/*
+ * Convex hull of a changing multiset of points, after Overmars and van
+ * Leeuwen. The distinct points sit in a balanced search tree ordered left
+ * to right (Point.compareTo), and every node keeps the lower and upper hull
+ * chains of its subtree. A node's chain is its left child's, its own point
+ * and its right child's joined at two bridges: each bridge is found in
+ * O(log n) by walking down both chains at once, dropping half of one of
+ * them at every step.
+ *
+ * The chains are persistent balanced trees, so a node builds its own by
+ * splitting and joining its children's in O(log n) without copying them.
+ * insert() and remove() rebuild the chains of the nodes on one path, which
+ * makes them O(log^2 n); both trees are treaps, so the bounds are expected
+ * ones. The hull of the root is always complete: getHull() wraps it in O(1)
+ * and the list it returns never changes afterwards.
+ *
+ * Unlike the original structure, which keeps only the part of each chain
+ * its parent does not use, every node holds its whole chain, shared with
+ * its children; space is O(n log n) in the worst case.
+ */
+public class DynamicHull
+{
+	private static final int LOWER = 1;                  //orientation() of a point outside each chain
+	private static final int UPPER = -1;
+
+	private Node root;                                   //the distinct points
+	private int size;                                    //points, counting copies
+	private boolean lowerChanged;                        //the subtree just updated has a new chain
+	private boolean upperChanged;
+
+	/*
+	 * Adds a point; copies of one already here are counted, not chained
+	 */
+	public void insert( ConvexHull.Point p )
+	{
+		Node node = find(p);
+
+		if ( node != null )
+			++node.count;
+		else
+			root = insert(root, p);
+		++size;
+	}
+
+	/*
+	 * Removes one copy of a point. Returns false if there was none.
+	 */
+	public boolean remove( ConvexHull.Point p )
+	{
+		Node node = find(p);
+
+		if ( node == null )
+			return false;
+
+		if ( node.count > 1 )
+			--node.count;
+		else
+			root = remove(root, p);
+		--size;
+		return true;
+	}
+
+	public int size()
+	{
+		return size;
+	}
+
+	public boolean contains( ConvexHull.Point p )
+	{
+		return find(p) != null;
+	}
+
+	/*
+	 * The corners counterclockwise from the leftmost, as an unmodifiable
+	 * list. It is a snapshot: later changes leave it as it was. get() is
+	 * O(log h).
+	 */
+	public List<ConvexHull.Point> getHull()
+	{
+		if ( root == null )
+			return Collections.emptyList();
+
+		return new HullView(root.lower, root.upper);
+	}
+
+	private static int orientation( ConvexHull.Point p1, ConvexHull.Point p2, ConvexHull.Point p )
+	{
+		return Predicates.orientation(p1.getX(), p1.getY(), p2.getX(), p2.getY(), p.getX(), p.getY());
+	}
+
+	/*
+	 * Treap priority from the point itself, so a set of points always makes
+	 * the same trees
+	 */
+	private static int priority( ConvexHull.Point p )
+	{
+		long h = Double.doubleToLongBits(p.getX())*0x9E3779B97F4A7C15L + Double.doubleToLongBits(p.getY());
+
+		h = (h ^ (h >>> 30))*0xBF58476D1CE4E5B9L;         //SplitMix64 finaliser
+		h = (h ^ (h >>> 27))*0x94D049BB133111EBL;
+		return (int) (h ^ (h >>> 31));
+	}
+
+	/* ( Point Tree ) ******************************************************* */
+
+	private Node find( ConvexHull.Point p )
+	{
+		Node node = root;
+
+		while ( node != null && node.point.compareTo(p) != 0 )
+			node = (p.compareTo(node.point) < 0) ? node.left : node.right;
+
+		return node;
+	}
+
+	/*
+	 * p must be new. A chain it lands inside of stays as it was, and so do
+	 * those above it, so on the way back up only changed chains are rebuilt.
+	 */
+	private Node insert( Node node, ConvexHull.Point p )
+	{
+		if ( node == null )
+		{
+			lowerChanged = true;
+			upperChanged = true;
+			return new Node(p);
+		}
+
+		boolean toLeft = p.compareTo(node.point) < 0;
+
+		if ( toLeft )
+			node.left = insert(node.left, p);
+		else
+			node.right = insert(node.right, p);
+
+		lowerChanged = lowerChanged && outside(node.lower, p, LOWER);
+		upperChanged = upperChanged && outside(node.upper, p, UPPER);
+
+		if ( toLeft && node.left.priority > node.priority )
+			return rotateRight(node);
+		if ( !toLeft && node.right.priority > node.priority )
+			return rotateLeft(node);
+
+		rebuildChanged(node);
+		return node;
+	}
+
+	/*
+	 * p must be present, with no other copies. Only chains it was a corner
+	 * of change.
+	 */
+	private Node remove( Node node, ConvexHull.Point p )
+	{
+		int c = p.compareTo(node.point);
+
+		if ( c == 0 )
+		{
+			lowerChanged = hasCorner(node.lower, p);
+			upperChanged = hasCorner(node.upper, p);
+			return join(node.left, node.right);
+		}
+
+		if ( c < 0 )
+			node.left = remove(node.left, p);
+		else
+			node.right = remove(node.right, p);
+
+		lowerChanged = lowerChanged && hasCorner(node.lower, p);
+		upperChanged = upperChanged && hasCorner(node.upper, p);
+
+		rebuildChanged(node);
+		return node;
+	}
+
+	/*
+	 * The tree of every point of a and then of b
+	 */
+	private Node join( Node a, Node b )
+	{
+		if ( a == null )
+			return b;
+		if ( b == null )
+			return a;
+
+		if ( a.priority > b.priority )
+		{
+			a.right = join(a.right, b);
+			rebuild(a);
+			return a;
+		}
+
+		b.left = join(a, b.left);
+		rebuild(b);
+		return b;
+	}
+
+	private Node rotateRight( Node node )
+	{
+		Node top = node.left;
+
+		node.left = top.right;
+		rebuild(node);
+		top.right = node;
+		rebuild(top);
+		return top;
+	}
+
+	private Node rotateLeft( Node node )
+	{
+		Node top = node.right;
+
+		node.right = top.left;
+		rebuild(node);
+		top.left = node;
+		rebuild(top);
+		return top;
+	}
+
+	/*
+	 * The node's chains from its children's, which must be up to date
+	 */
+	private void rebuild( Node node )
+	{
+		node.lower = merge(merge(lowerOf(node.left), node.single, LOWER), lowerOf(node.right), LOWER);
+		node.upper = merge(merge(upperOf(node.left), node.single, UPPER), upperOf(node.right), UPPER);
+	}
+
+	private void rebuildChanged( Node node )
+	{
+		if ( lowerChanged )
+			node.lower = merge(merge(lowerOf(node.left), node.single, LOWER), lowerOf(node.right), LOWER);
+		if ( upperChanged )
+			node.upper = merge(merge(upperOf(node.left), node.single, UPPER), upperOf(node.right), UPPER);
+	}
+
+	private static Chain lowerOf( Node node )
+	{
+		return (node == null) ? null : node.lower;
+	}
+
+	private static Chain upperOf( Node node )
+	{
+		return (node == null) ? null : node.upper;
+	}
+
+	/*
+	 * True if p, not yet in the chain's points, would be one of its corners:
+	 * it lies past an end or strictly outside the edge it falls under
+	 */
+	private static boolean outside( Chain chain, ConvexHull.Point p, int side )
+	{
+		if ( p.compareTo(chain.min) < 0 || p.compareTo(chain.max) > 0 )
+			return true;
+
+		ConvexHull.Point before = null, after = null;
+
+		for ( Chain node = chain; node != null; )
+		{
+			if ( p.compareTo(node.point) < 0 )
+			{
+				after = node.point;
+				node = node.left;
+			}
+			else
+			{
+				before = node.point;
+				node = node.right;
+			}
+		}
+
+		return orientation(before, after, p) == side;
+	}
+
+	private static boolean hasCorner( Chain chain, ConvexHull.Point p )
+	{
+		for ( Chain node = chain; node != null; )
+		{
+			int c = p.compareTo(node.point);
+
+			if ( c == 0 )
+				return true;
+			node = (c < 0) ? node.left : node.right;
+		}
+
+		return false;
+	}
+
+	/* ( Bridges ) ********************************************************** */
+
+	/*
+	 * The chain of the points of a and b, every one of a's before every one
+	 * of b's: a up to the bridge, then b from it.
+	 */
+	private static Chain merge( Chain a, Chain b, int side )
+	{
+		if ( a == null )
+			return b;
+		if ( b == null )
+			return a;
+
+		Bridge bridge = new Bridge(a, b, side);
+
+		return Chain.join(Chain.head(a, bridge.left), Chain.tail(b, bridge.right));
+	}
+
+	/*
+	 * Finds the bridge of two chains, the one line through a corner of each
+	 * with no point of either outside it: on it, the leftmost corner of the
+	 * first chain and the rightmost of the second, so the joined chain has
+	 * no three corners in line.
+	 *
+	 * p walks down the first chain's tree and q down the second's. With the
+	 * line pq, the neighbours of p and q say which side of p or q the
+	 * bridge ends on; in the one case they cannot, where the edges at p
+	 * and q cross does. Either way at least one walk goes down a level. A
+	 * walk remembers the last corner it passed that may still be the
+	 * answer; once one walk runs out, its end is known and the other finds
+	 * the tangent from it.
+	 */
+	private static class Bridge
+	{
+		private int side;
+		private ConvexHull.Point firstOfB;               //where the second chain starts
+
+		private Chain p, q;                              //walks, null once done
+		private ConvexHull.Point pBefore, pAfter;        //corners that p's subtree lies between
+		private ConvexHull.Point qBefore, qAfter;
+		private ConvexHull.Point pKept, qKept;           //bridge ends passed over, if still possible
+
+		private ConvexHull.Point left;                   //the bridge, from a to b
+		private ConvexHull.Point right;
+
+		public Bridge( Chain a, Chain b, int side )
+		{
+			this.side = side;
+			firstOfB = b.min;
+			p = a;
+			q = b;
+
+			while ( p != null && q != null )
+				step();
+
+			left = (p == null) ? pKept : tangentInA();
+			right = (q == null) ? qKept : tangentInB();
+
+			if ( left == null || right == null )
+				throw new IllegalStateException("bridge search lost its ends");
+		}
+
+		private void step()
+		{
+			ConvexHull.Point pp = p.point, qq = q.point;
+			ConvexHull.Point pPrev = before(p, pBefore), pNext = after(p, pAfter);
+			ConvexHull.Point qPrev = before(q, qBefore), qNext = after(q, qAfter);
+
+			int pPrevTurn = (pPrev == null) ? -side : orientation(pp, qq, pPrev);
+			boolean pPrevOut = pPrevTurn == side;
+			boolean pNextOut = pNext != null && orientation(pp, qq, pNext) == side;
+			boolean qPrevOut = qPrev != null && orientation(pp, qq, qPrev) == side;
+			int qNextTurn = (qNext == null) ? -side : orientation(pp, qq, qNext);
+			boolean qNextOut = qNextTurn == side;
+
+			boolean pSupports = !pPrevOut && !pNextOut;      //no corner of a outside the line
+			boolean qSupports = !qPrevOut && !qNextOut;
+
+			if ( pSupports )
+			{
+				//the bridge is no steeper than pq: it ends at p or before it
+				goLeft(pPrevTurn == 0 ? null : pp);
+				if ( qSupports )
+					goRightInB(qNextTurn == 0 ? null : qq);
+				else if ( qPrevOut )
+					goLeftInB();
+			}
+			else if ( qSupports )
+			{
+				//the bridge is steeper than pq: it ends at q or after it
+				goRightInB(qNextTurn == 0 ? null : qq);
+				if ( pNextOut )
+					goRight();
+			}
+			else if ( pPrevOut && qNextOut )                 //pq passes under both ends
+			{
+				goLeft(null);
+				goRightInB(null);
+			}
+			else if ( pNextOut && qNextOut )
+				goRightInB(null);
+			else if ( pPrevOut && qPrevOut )
+				goLeft(null);
+			else
+			{
+				//pq passes under the bridge between the chains. Past where
+				//the edges at p and q cross, the one at q is inside the one at
+				//p, so if b lies past the crossing it is all inside p's edge
+				//and the bridge leaves a after p; if not, a is all inside q's
+				//edge and the bridge enters b before q.
+				int crossing = Predicates.compareCrossing(pp.getX(), pp.getY(), pNext.getX(), pNext.getY(),
+						qPrev.getX(), qPrev.getY(), qq.getX(), qq.getY(), firstOfB.getX(), firstOfB.getY());
+
+				if ( crossing < 0 )
+					goRight();
+				else
+					goLeftInB();
+			}
+		}
+
+		/*
+		 * With the second end known, the leftmost corner of a whose line to
+		 * it has no corner of a outside
+		 */
+		private ConvexHull.Point tangentInA()
+		{
+			while ( p != null )
+			{
+				ConvexHull.Point pPrev = before(p, pBefore), pNext = after(p, pAfter);
+
+				if ( pPrev != null && orientation(p.point, qKept, pPrev) != -side )
+					goLeft(null);
+				else if ( pNext != null && orientation(p.point, qKept, pNext) == side )
+					goRight();
+				else
+					return p.point;
+			}
+
+			return pKept;
+		}
+
+		/*
+		 * With the first end known, the rightmost corner of b whose line
+		 * from it has no corner of b outside
+		 */
+		private ConvexHull.Point tangentInB()
+		{
+			while ( q != null )
+			{
+				ConvexHull.Point qPrev = before(q, qBefore), qNext = after(q, qAfter);
+
+				if ( qPrev != null && orientation(pKept, q.point, qPrev) == side )
+					goLeftInB();
+				else if ( qNext != null && orientation(pKept, q.point, qNext) != -side )
+					goRightInB(null);
+				else
+					return q.point;
+			}
+
+			return qKept;
+		}
+
+		/*
+		 * The bridge ends before p, or at kept if that is p
+		 */
+		private void goLeft( ConvexHull.Point kept )
+		{
+			if ( kept != null )
+				pKept = kept;
+			pAfter = p.point;
+			p = p.left;
+		}
+
+		private void goRight()                           //the bridge ends after p
+		{
+			pBefore = p.point;
+			p = p.right;
+		}
+
+		private void goLeftInB()                         //the bridge ends before q
+		{
+			qAfter = q.point;
+			q = q.left;
+		}
+
+		/*
+		 * The bridge ends after q, or at kept if that is q
+		 */
+		private void goRightInB( ConvexHull.Point kept )
+		{
+			if ( kept != null )
+				qKept = kept;
+			qBefore = q.point;
+			q = q.right;
+		}
+
+		/*
+		 * The corner before node's in its whole chain; bound is the one
+		 * before its subtree
+		 */
+		private static ConvexHull.Point before( Chain node, ConvexHull.Point bound )
+		{
+			return (node.left != null) ? node.left.max : bound;
+		}
+
+		private static ConvexHull.Point after( Chain node, ConvexHull.Point bound )
+		{
+			return (node.right != null) ? node.right.min : bound;
+		}
+	}
+
+	/* ( Classes ) ********************************************************** */
+
+	/*
+	 * A distinct point, its copies and the chains of its subtree
+	 */
+	private static class Node
+	{
+		private ConvexHull.Point point;
+		private int count = 1;
+		private int priority;
+		private Node left;
+		private Node right;
+
+		private Chain single;                            //the chain of just this point
+		private Chain lower;
+		private Chain upper;
+
+		public Node( ConvexHull.Point point )
+		{
+			this.point = point;
+			priority = priority(point);
+			single = new Chain(point, priority, null, null);
+			lower = single;
+			upper = single;
+		}
+	}
+
+	/*
+	 * Immutable treap of a chain's corners, left to right. Versions share
+	 * every subtree they have in common.
+	 */
+	private static class Chain
+	{
+		private final ConvexHull.Point point;
+		private final int priority;
+		private final Chain left;
+		private final Chain right;
+		private final int size;                          //corners in this subtree
+		private final ConvexHull.Point min;              //its first and last corner
+		private final ConvexHull.Point max;
+
+		public Chain( ConvexHull.Point point, int priority, Chain left, Chain right )
+		{
+			this.point = point;
+			this.priority = priority;
+			this.left = left;
+			this.right = right;
+			size = 1 + ((left == null) ? 0 : left.size) + ((right == null) ? 0 : right.size);
+			min = (left == null) ? point : left.min;
+			max = (right == null) ? point : right.max;
+		}
+
+		/*
+		 * The corners up to and including p, which must be one
+		 */
+		public static Chain head( Chain node, ConvexHull.Point p )
+		{
+			int c = node.point.compareTo(p);
+
+			if ( c > 0 )
+				return head(node.left, p);
+			if ( c == 0 && node.right == null )
+				return node;
+
+			return new Chain(node.point, node.priority, node.left, (c == 0) ? null : head(node.right, p));
+		}
+
+		/*
+		 * The corners from p on, which must be one
+		 */
+		public static Chain tail( Chain node, ConvexHull.Point p )
+		{
+			int c = node.point.compareTo(p);
+
+			if ( c < 0 )
+				return tail(node.right, p);
+			if ( c == 0 && node.left == null )
+				return node;
+
+			return new Chain(node.point, node.priority, (c == 0) ? null : tail(node.left, p), node.right);
+		}
+
+		/*
+		 * The corners of a and then of b
+		 */
+		public static Chain join( Chain a, Chain b )
+		{
+			if ( a == null )
+				return b;
+			if ( b == null )
+				return a;
+
+			if ( a.priority > b.priority )
+				return new Chain(a.point, a.priority, a.left, join(a.right, b));
+			return new Chain(b.point, b.priority, join(a, b.left), b.right);
+		}
+
+		public static ConvexHull.Point get( Chain node, int index )
+		{
+			while ( true )
+			{
+				int leftSize = (node.left == null) ? 0 : node.left.size;
+
+				if ( index == leftSize )
+					return node.point;
+
+				if ( index < leftSize )
+					node = node.left;
+				else
+				{
+					index -= leftSize + 1;
+					node = node.right;
+				}
+			}
+		}
+	}
+
+	/*
+	 * The lower chain left to right, then the upper one back, without the
+	 * two ends they share
+	 */
+	private static class HullView extends AbstractList<ConvexHull.Point>
+	{
+		private Chain lower;
+		private Chain upper;
+
+		public HullView( Chain lower, Chain upper )
+		{
+			this.lower = lower;
+			this.upper = upper;
+		}
+
+		@Override
+		public ConvexHull.Point get( int index )
+		{
+			if ( index < 0 || index >= size() )
+				throw new IndexOutOfBoundsException("corner " + index + " of " + size());
+
+			if ( index < lower.size )
+				return Chain.get(lower, index);
+			return Chain.get(upper, upper.size - 2 - (index - lower.size));
+		}
+
+		@Override
+		public int size()
+		{
+			return (lower.size == 1) ? 1 : lower.size + upper.size - 2;
+		}
+	}
+}
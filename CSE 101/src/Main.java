@@ -1,11 +1,23 @@
+import java.io.IOException;
+import java.nio.file.Paths;
 
 public class Main {
 
 	/**
-	 * @param args
+	 * @param args a point file to peel (binary, or .csv); none for the random table
 	 */
-	public static void main(String[] args)
+	public static void main(String[] args) throws IOException
 	{
+		if (args.length > 0)
+		{
+			PointFile pointFile = new PointFile();
+			ConvexHull c = new ConvexHull(pointFile.read(Paths.get(args[0])));
+			pointFile.printThroughput();
+			c.setShellEngine(ConvexHull.ShellEngine.MONOTONE_CHAIN);
+			System.out.println("Shell Iterations: " + c.findShells());
+			return;
+		}
+		
 		int [] graphPointCounts = { 20, 100, 500, 1000 };
 		System.out.println("          Convex Hulls          ");
 		System.out.println("Point Count          Shell Iterations");
@@ -0,0 +1,204 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/*
+ * Reads point clouds from disk into a PointStore, for a ConvexHull to peel.
+ *
+ * The binary format is nothing but (x, y) pairs of little-endian float64,
+ * 16 bytes a point. It is memory-mapped in regions of up to 1 GiB and
+ * copied straight into the store's coordinate arrays, which are sized from
+ * the file length up front, so no object is made per point. CSV, one
+ * "x,y" per line, is the slow fallback for data from elsewhere.
+ *
+ * Each load records its size and time; getPointsPerSecond() and
+ * printThroughput() report them.
+ */
+public class PointFile
+{
+	private static final int BYTES_PER_POINT = 16;       //two float64s
+	private static final long MAX_REGION = 1L << 30;      //bytes mapped at a time, a multiple of 16
+
+	private long pointsRead;                             //points in the last load
+	private long bytesRead;                              //bytes in the last load
+	private long loadNanos;                              //how long the last load took
+
+	/*
+	 * Maps a binary point file and copies its points into a new store.
+	 * Throws IOException if the length is not a whole number of points, or
+	 * at the byte offset of the first point that is NaN or infinite.
+	 */
+	public PointStore readBinary( Path path ) throws IOException
+	{
+		long start = System.nanoTime();
+
+		try ( FileChannel channel = FileChannel.open(path, StandardOpenOption.READ) )
+		{
+			long length = channel.size();
+
+			if ( length % BYTES_PER_POINT != 0 )
+				throw new IOException(path + ": " + length + " bytes is not a whole number of points");
+			if ( length/BYTES_PER_POINT > Integer.MAX_VALUE - 8 )
+				throw new IOException(path + ": too many points for one store");
+
+			PointStore store = new PointStore((int) (length/BYTES_PER_POINT));
+
+			for ( long offset = 0; offset < length; offset += MAX_REGION )
+			{
+				MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, offset,
+						Math.min(MAX_REGION, length - offset));
+				DoubleBuffer coordinates = region.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+
+				while ( coordinates.hasRemaining() )
+				{
+					double x = coordinates.get(), y = coordinates.get();
+
+					if ( !Double.isFinite(x) || !Double.isFinite(y) )
+						throw new IOException(path + ": byte " + (offset + 8L*(coordinates.position() - 2))
+								+ ": not a finite point: " + x + "," + y);
+					store.add(x, y);
+				}
+			}
+
+			finish(store.size(), length, start);
+			return store;
+		}
+	}
+
+	/*
+	 * Reads "x,y" lines into a new store. Blank lines and lines starting
+	 * with '#' are skipped, and so is a first other line that is not
+	 * numbers (a header). Throws IOException naming the line of anything
+	 * else that is not a pair of finite numbers.
+	 */
+	public PointStore readCsv( Path path ) throws IOException
+	{
+		long start = System.nanoTime();
+		PointStore store = new PointStore(1024);
+
+		try ( BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8) )
+		{
+			String line;
+			int lineNumber = 0;
+			boolean first = true;                            //no line read yet but blanks and comments
+
+			while ( (line = reader.readLine()) != null )
+			{
+				++lineNumber;
+				line = line.trim();
+
+				if ( line.isEmpty() || line.charAt(0) == '#' )
+					continue;
+
+				int comma = line.indexOf(',');
+				double x, y;
+
+				try
+				{
+					if ( comma < 0 )
+						throw new NumberFormatException("no comma");
+					x = Double.parseDouble(line.substring(0, comma));
+					y = Double.parseDouble(line.substring(comma + 1));
+				}
+				catch ( NumberFormatException e )
+				{
+					if ( !first )                            //only the first line may be a header
+						throw new IOException(path + ":" + lineNumber + ": not an x,y pair: " + line, e);
+					first = false;
+					continue;
+				}
+
+				if ( !Double.isFinite(x) || !Double.isFinite(y) )
+					throw new IOException(path + ":" + lineNumber + ": not a finite point: " + line);
+				store.add(x, y);
+				first = false;
+			}
+		}
+
+		finish(store.size(), Files.size(path), start);
+		return store;
+	}
+
+	/*
+	 * Picks the reader by extension: .csv or .txt as text, anything else
+	 * as binary
+	 */
+	public PointStore read( Path path ) throws IOException
+	{
+		String name = path.getFileName().toString().toLowerCase();
+
+		if ( name.endsWith(".csv") || name.endsWith(".txt") )
+			return readCsv(path);
+		return readBinary(path);
+	}
+
+	/*
+	 * Writes every point of a store in the binary format readBinary() maps
+	 */
+	public static void writeBinary( PointStore store, Path path ) throws IOException
+	{
+		ByteBuffer buffer = ByteBuffer.allocate(BYTES_PER_POINT*4096).order(ByteOrder.LITTLE_ENDIAN);
+
+		try ( OutputStream out = Files.newOutputStream(path) )
+		{
+			for ( int i = 0; i < store.size(); i++ )
+			{
+				if ( !buffer.hasRemaining() )
+				{
+					out.write(buffer.array(), 0, buffer.position());
+					buffer.clear();
+				}
+				buffer.putDouble(store.getX(i)).putDouble(store.getY(i));
+			}
+			out.write(buffer.array(), 0, buffer.position());
+		}
+	}
+
+	private void finish( long points, long bytes, long start )
+	{
+		loadNanos = System.nanoTime() - start;
+		pointsRead = points;
+		bytesRead = bytes;
+	}
+
+	public long getPointsRead()
+	{
+		return pointsRead;
+	}
+
+	public long getBytesRead()
+	{
+		return bytesRead;
+	}
+
+	public long getLoadNanos()
+	{
+		return loadNanos;
+	}
+
+	public double getPointsPerSecond()
+	{
+		return pointsRead*1e9/Math.max(1, loadNanos);
+	}
+
+	/*
+	 * One line: points, megabytes, seconds, and the rates
+	 */
+	public void printThroughput()
+	{
+		double seconds = loadNanos/1e9;
+		double megabytes = bytesRead/1e6;
+
+		System.out.printf("Loaded %d points (%.1f MB) in %.3f s: %.2f M points/s, %.1f MB/s%n",
+				pointsRead, megabytes, seconds, getPointsPerSecond()/1e6, megabytes/Math.max(seconds, 1e-9));
+	}
+}
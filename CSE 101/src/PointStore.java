@@ -0,0 +1,220 @@
+import java.util.Arrays;
+
+/*
+ * Points kept as two primitive arrays of coordinates, indexed 0 .. size-1,
+ * plus a permutation of those indices. The first live() entries of the
+ * permutation are the points still in play; the shell engines reorder it and
+ * shrink live() as they peel, and never move the coordinates themselves.
+ */
+public class PointStore
+{
+	private static final int INSERTION_SORT_THRESHOLD = 16;  //ranges this small skip quicksort
+
+	private double[] xs;                                  //x of point i
+	private double[] ys;                                  //y of point i
+	private int[] order;                                  //permutation of 0 .. size-1, live points first
+	private int size;                                     //number of points stored
+	private int live;                                     //number of points still in play
+
+	public PointStore( int capacity )
+	{
+		xs = new double[Math.max(1, capacity)];
+		ys = new double[Math.max(1, capacity)];
+		order = new int[Math.max(1, capacity)];
+	}
+
+	/*
+	 * Appends a live point and returns its index
+	 */
+	public int add( double x, double y )
+	{
+		if ( size == xs.length )                          //full, double the arrays
+		{
+			xs = Arrays.copyOf(xs, 2*size);
+			ys = Arrays.copyOf(ys, 2*size);
+			order = Arrays.copyOf(order, 2*size);
+		}
+
+		xs[size] = x;
+		ys[size] = y;
+		order[size] = order[live];                       //first peeled point moves to the back
+		order[live] = size;                              //so live points stay in front
+		++live;
+		return size++;
+	}
+
+	/*
+	 * Brings every point back into play, in index order
+	 */
+	public void reset()
+	{
+		for ( int i = 0; i < size; i++ )
+			order[i] = i;
+		live = size;
+	}
+
+	public int size()
+	{
+		return size;
+	}
+
+	public int live()
+	{
+		return live;
+	}
+
+	public void setLive( int live )
+	{
+		this.live = live;
+	}
+
+	/*
+	 * The permutation itself, for the engines to reorder in place
+	 */
+	public int[] order()
+	{
+		return order;
+	}
+
+	public double getX( int i )
+	{
+		return xs[i];
+	}
+
+	public double getY( int i )
+	{
+		return ys[i];
+	}
+
+	/*
+	 * ConvexHull.orientation() on stored points: -1 if p is to the left of
+	 * the line p1 -> p2, 1 if to the right, 0 if on it. Exact.
+	 */
+	public int orientation( int p1, int p2, int p )
+	{
+		return Predicates.orientation(xs[p1], ys[p1], xs[p2], ys[p2], xs[p], ys[p]);
+	}
+
+	/*
+	 * True if points a and b are at the same place
+	 */
+	public boolean coincide( int a, int b )
+	{
+		return xs[a] == xs[b] && ys[a] == ys[b];
+	}
+
+	/*
+	 * For a and b on the same ray from p: true if a is strictly farther
+	 * from p than b. Compares coordinates only, so it is exact.
+	 */
+	public boolean farther( int p, int a, int b )
+	{
+		if ( coincide(b, p) )
+			return !coincide(a, p);
+		if ( xs[b] != xs[p] )                            //the ray is not vertical: go by x
+			return (xs[b] > xs[p]) ? xs[a] > xs[b] : xs[a] < xs[b];
+		return (ys[b] > ys[p]) ? ys[a] > ys[b] : ys[a] < ys[b];
+	}
+
+	/*
+	 * Sorts indices[from..to-1] by x, then by y
+	 */
+	public void sortLeftToRight( int[] indices, int from, int to )
+	{
+		sort(indices, from, to, xs);
+	}
+
+	/*
+	 * Sorts indices[from..to-1] by key[index] ascending, ties by x, then y
+	 */
+	public void sortByKey( int[] indices, int from, int to, double[] key )
+	{
+		sort(indices, from, to, key);
+	}
+
+	/*
+	 * True if point a comes before point b by x, then y
+	 */
+	public boolean leftOf( int a, int b )
+	{
+		return before(a, b, xs);
+	}
+
+	/*
+	 * True if point a comes before point b in key, x, y order
+	 */
+	private boolean before( int a, int b, double[] key )
+	{
+		if ( key[a] != key[b] )
+			return key[a] < key[b];
+		if ( xs[a] != xs[b] )
+			return xs[a] < xs[b];
+		return ys[a] < ys[b];
+	}
+
+	/*
+	 * Quicksort with a median-of-three pivot, recursing into the smaller
+	 * part so the stack stays O(log n), and insertion sort for short ranges
+	 */
+	private void sort( int[] a, int from, int to, double[] key )
+	{
+		while ( to - from > INSERTION_SORT_THRESHOLD )
+		{
+			int mid = (from + to - 1) >>> 1;
+
+			if ( before(a[mid], a[from], key) )
+				swap(a, from, mid);
+			if ( before(a[to-1], a[mid], key) )
+			{
+				swap(a, mid, to - 1);
+				if ( before(a[mid], a[from], key) )
+					swap(a, from, mid);
+			}
+
+			int pivot = a[mid];
+			int i = from;
+			int j = to - 1;
+
+			while ( i <= j )
+			{
+				while ( before(a[i], pivot, key) )
+					i++;
+				while ( before(pivot, a[j], key) )
+					j--;
+				if ( i <= j )
+					swap(a, i++, j--);
+			}
+
+			if ( j + 1 - from < to - i )                   //a[from..j] <= pivot <= a[i..to-1]
+			{
+				sort(a, from, j + 1, key);
+				from = i;
+			}
+			else
+			{
+				sort(a, i, to, key);
+				to = j + 1;
+			}
+		}
+
+		for ( int i = from + 1; i < to; i++ )
+		{
+			int p = a[i];
+			int j = i - 1;
+
+			while ( j >= from && before(p, a[j], key) )
+			{
+				a[j + 1] = a[j];
+				j--;
+			}
+			a[j + 1] = p;
+		}
+	}
+
+	private static void swap( int[] a, int i, int j )
+	{
+		int t = a[i];
+		a[i] = a[j];
+		a[j] = t;
+	}
+}
@@ -0,0 +1,111 @@
+import java.math.BigDecimal;
+
+/*
+ * Geometric predicates that give the exact answer for any double input.
+ * The orientation test follows Shewchuk's adaptive scheme: the ordinary
+ * floating-point determinant is trusted whenever it is farther from zero
+ * than its worst-case rounding error (his error bound A), which is almost
+ * always, and only the rest are recomputed exactly. Shewchuk's
+ * intermediate expansion stages are left out; the exact fallback is rare
+ * enough that BigDecimal does.
+ */
+public final class Predicates
+{
+	private static final double EPSILON = 0x1p-53;       //half an ulp of 1.0
+	private static final double CCW_ERROR_BOUND = (3.0 + 16.0*EPSILON)*EPSILON;
+	private static final double CROSSING_ERROR_BOUND = 16.0*EPSILON;  //generous; the exact fallback is rare
+
+	private Predicates()
+	{
+	}
+
+	/*
+	 * ConvexHull.orientation() convention: -1 if (px, py) is strictly to the
+	 * left of the line (ax, ay) -> (bx, by), 1 if strictly to the right and
+	 * 0 if exactly on it
+	 */
+	public static int orientation( double ax, double ay, double bx, double by, double px, double py )
+	{
+		double detLeft = (ax - px)*(by - py);
+		double detRight = (ay - py)*(bx - px);
+		double det = detLeft - detRight;
+		double errorBound = CCW_ERROR_BOUND*(Math.abs(detLeft) + Math.abs(detRight));
+
+		if ( errorBound < Double.MIN_NORMAL )            //products near underflow: the bound does not hold
+		{
+			if ( (ax == px || by == py) && (ay == py || bx == px) )  //both products exactly 0
+				return 0;
+			return exactOrientation(ax, ay, bx, by, px, py);
+		}
+
+		if ( det > errorBound )                          //farther from 0 than rounding can reach
+			return -1;
+		if ( -det > errorBound )
+			return 1;
+
+		return exactOrientation(ax, ay, bx, by, px, py);
+	}
+
+	/*
+	 * The same determinant in exact arithmetic: a double converts to
+	 * BigDecimal without rounding, and so do sums and products of them
+	 */
+	private static int exactOrientation( double ax, double ay, double bx, double by, double px, double py )
+	{
+		BigDecimal apx = new BigDecimal(ax).subtract(new BigDecimal(px));
+		BigDecimal bpy = new BigDecimal(by).subtract(new BigDecimal(py));
+		BigDecimal apy = new BigDecimal(ay).subtract(new BigDecimal(py));
+		BigDecimal bpx = new BigDecimal(bx).subtract(new BigDecimal(px));
+
+		return -apx.multiply(bpy).subtract(apy.multiply(bpx)).signum();
+	}
+
+	/*
+	 * Where line a -> b crosses line c -> d, compared with point p by x and
+	 * then by y: -1 if the crossing comes first, 1 if p does and 0 if they
+	 * are the same point. The lines must not be parallel. Filtered like
+	 * orientation(), with a looser bound on the degree-three determinants,
+	 * and exact whenever a product may have underflowed.
+	 */
+	public static int compareCrossing( double ax, double ay, double bx, double by,
+			double cx, double cy, double dx, double dy, double px, double py )
+	{
+		double ux = bx - ax, uy = by - ay;                //crossing = a + (b - a)*num/den
+		double wx = dx - cx, wy = dy - cy;
+		double den = ux*wy - uy*wx;
+		double denBound = Math.abs(ux*wy) + Math.abs(uy*wx);
+		double num = (cx - ax)*wy - (cy - ay)*wx;
+		double numBound = Math.abs((cx - ax)*wy) + Math.abs((cy - ay)*wx);
+
+		double sx = (ax - px)*den + ux*num;              //x - px, times den
+		double sxBound = Math.abs(ax - px)*denBound + Math.abs(ux)*numBound;
+
+		double tightest = CROSSING_ERROR_BOUND*Math.min(Math.min(denBound, numBound), sxBound);
+
+		if ( tightest >= Double.MIN_NORMAL                //no product near underflow
+				&& Math.abs(den) > CROSSING_ERROR_BOUND*denBound && Math.abs(sx) > CROSSING_ERROR_BOUND*sxBound )
+			return (sx > 0 == den > 0) ? 1 : -1;
+
+		return exactCompareCrossing(ax, ay, bx, by, cx, cy, dx, dy, px, py);
+	}
+
+	private static int exactCompareCrossing( double ax, double ay, double bx, double by,
+			double cx, double cy, double dx, double dy, double px, double py )
+	{
+		BigDecimal ux = new BigDecimal(bx).subtract(new BigDecimal(ax));
+		BigDecimal uy = new BigDecimal(by).subtract(new BigDecimal(ay));
+		BigDecimal wx = new BigDecimal(dx).subtract(new BigDecimal(cx));
+		BigDecimal wy = new BigDecimal(dy).subtract(new BigDecimal(cy));
+
+		BigDecimal den = ux.multiply(wy).subtract(uy.multiply(wx));
+		BigDecimal num = new BigDecimal(cx).subtract(new BigDecimal(ax)).multiply(wy)
+				.subtract(new BigDecimal(cy).subtract(new BigDecimal(ay)).multiply(wx));
+
+		int sign = new BigDecimal(ax).subtract(new BigDecimal(px)).multiply(den).add(ux.multiply(num)).signum();
+
+		if ( sign == 0 )                                  //same x: go by y
+			sign = new BigDecimal(ay).subtract(new BigDecimal(py)).multiply(den).add(uy.multiply(num)).signum();
+
+		return sign*den.signum();
+	}
+}
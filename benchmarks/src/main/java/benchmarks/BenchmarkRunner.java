@@ -0,0 +1,28 @@
+package benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/*
+ * Entry point of benchmarks.jar. Accepts the usual JMH command line and always
+ * adds the GC profiler, so every run reports allocation rates next to the
+ * timings:
+ *
+ *   mvn package
+ *   java -jar benchmarks/target/benchmarks.jar [JMH options]
+ */
+public class BenchmarkRunner
+{
+  public static void main(String[] args) throws Exception
+  {
+    Options options = new OptionsBuilder()
+        .parent(new CommandLineOptions(args))
+        .addProfiler(GCProfiler.class)
+        .build();
+
+    new Runner(options).run();
+  }
+}
@@ -0,0 +1,244 @@
+package benchmarks;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * The label-indexed BreadCrumbs store against the one RandomGraphUtils had
+ * before it: a HashMap from each RandomGraph.Vertex to its own BreadCrumb
+ * object, kept here as a copy of the old code. Both stores run the same
+ * recursive DFS over the same RandomGraph of average degree 8, walking the
+ * vertices' edge lists alike, so the difference is the cost of the state
+ * lookups and updates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xss64m")
+public class BreadCrumbsBenchmark
+{
+  private static final long   SEED           = 101L;
+  private static final double AVERAGE_DEGREE = 8.0;
+
+  @Param({ "1000", "10000", "50000" })
+  public int                          n;
+
+  @Param({ "HASH_MAP", "BREAD_CRUMBS" })
+  public String                       store;
+
+  private Object                      _randomGraph;
+  private HashMap<Object, BreadCrumb> _crumbs;
+  private Object                      _breadCrumbs;
+
+  private int                         _connectedComponents;
+  private int                         _visitCount;
+
+  @Setup
+  public void setUp() throws Throwable
+  {
+    Object mode = Subjects.constant(Subjects.GENERATION_MODE, "GEOMETRIC_SKIP");
+    _randomGraph = Subjects.NEW_RANDOM_GRAPH.invoke(n, AVERAGE_DEGREE / n, mode,
+        new SplittableRandom(SEED));
+
+    if (store.equals("HASH_MAP"))
+    {
+      // As the old createCrumbs()
+      _crumbs = new HashMap<Object, BreadCrumb>();
+
+      Iterator<?> i = (Iterator<?>) Subjects.GRAPH_VERTICES.invoke(_randomGraph);
+
+      while (i.hasNext())
+        _crumbs.put(i.next(), new BreadCrumb());
+    }
+    else
+    {
+      int numVertices = (int) Subjects.GRAPH_SIZE.invoke(_randomGraph);
+      _breadCrumbs = Subjects.NEW_BREAD_CRUMBS.invoke(numVertices);
+    }
+  }
+
+  @Benchmark
+  public int performDfs() throws Throwable
+  {
+    if (store.equals("HASH_MAP"))
+      performHashedDfs();
+    else
+      performBreadCrumbsDfs();
+
+    return _connectedComponents;
+  }
+
+  /* ( HashMap<Vertex, BreadCrumb> ) **************************************** */
+
+  /*
+   * The old performDfs(), explore() and setAllCrumbsVisitedTo()
+   */
+  private void performHashedDfs() throws Throwable
+  {
+    Iterator<?> i = (Iterator<?>) Subjects.GRAPH_VERTICES.invoke(_randomGraph);
+
+    while (i.hasNext())
+      _crumbs.get(i.next()).setVisited(false);
+
+    _connectedComponents = 0;
+    _visitCount = 0;
+
+    i = (Iterator<?>) Subjects.GRAPH_VERTICES.invoke(_randomGraph);
+
+    while (i.hasNext())
+    {
+      Object v = i.next();
+      BreadCrumb b = _crumbs.get(v);
+
+      if (!b.isVisited())
+      {
+        ++_connectedComponents;
+        exploreHashed(v);
+      }
+    }
+  }
+
+  private void exploreHashed(Object vertex) throws Throwable
+  {
+    BreadCrumb currentVertexCrumb = _crumbs.get(vertex);
+    currentVertexCrumb.setVisited(true);
+    currentVertexCrumb.setConnectedComponent(_connectedComponents);
+    currentVertexCrumb.setPrevisit(++_visitCount);
+
+    Iterator<?> edges = (Iterator<?>) Subjects.VERTEX_EDGES.invoke(vertex);
+
+    while (edges.hasNext())
+    {
+      Object edgeVertex = Subjects.EDGE_VERTEX.invoke(edges.next());
+      BreadCrumb edgeVertexCrumb = _crumbs.get(edgeVertex);
+
+      if (!edgeVertexCrumb.isVisited())
+        exploreHashed(edgeVertex);
+    }
+
+    currentVertexCrumb.setPostvisit(++_visitCount);
+  }
+
+  /* ( BreadCrumbs ) ******************************************************** */
+
+  private void performBreadCrumbsDfs() throws Throwable
+  {
+    Subjects.SET_ALL_VISITED.invoke(_breadCrumbs, false);
+
+    _connectedComponents = 0;
+    _visitCount = 0;
+
+    Iterator<?> i = (Iterator<?>) Subjects.GRAPH_VERTICES.invoke(_randomGraph);
+
+    while (i.hasNext())
+    {
+      Object v = i.next();
+      int label = (int) Subjects.VERTEX_LABEL.invoke(v);
+
+      if (!(boolean) Subjects.IS_VISITED.invoke(_breadCrumbs, label))
+      {
+        ++_connectedComponents;
+        exploreBreadCrumbs(v);
+      }
+    }
+  }
+
+  private void exploreBreadCrumbs(Object vertex) throws Throwable
+  {
+    int label = (int) Subjects.VERTEX_LABEL.invoke(vertex);
+
+    Subjects.SET_VISITED.invoke(_breadCrumbs, label, true);
+    Subjects.SET_CONNECTED_COMPONENT.invoke(_breadCrumbs, label, _connectedComponents);
+    Subjects.SET_PREVISIT.invoke(_breadCrumbs, label, ++_visitCount);
+
+    Iterator<?> edges = (Iterator<?>) Subjects.VERTEX_EDGES.invoke(vertex);
+
+    while (edges.hasNext())
+    {
+      Object edgeVertex = Subjects.EDGE_VERTEX.invoke(edges.next());
+
+      if (!(boolean) Subjects.IS_VISITED.invoke(_breadCrumbs,
+          (int) Subjects.VERTEX_LABEL.invoke(edgeVertex)))
+        exploreBreadCrumbs(edgeVertex);
+    }
+
+    Subjects.SET_POSTVISIT.invoke(_breadCrumbs, label, ++_visitCount);
+  }
+
+  /* ( Classes ) ************************************************************ */
+
+  /*
+   * RandomGraphUtils.BreadCrumb as it was, an inner class like the original
+   */
+  private class BreadCrumb
+  {
+    private boolean _visited;
+    private int     _connectedComponent;
+    private int     _previsit;
+    private int     _postvisit;
+
+    public BreadCrumb()
+    {
+      setVisited(false);
+      setConnectedComponent(0);
+      setPrevisit(0);
+      setPostvisit(0);
+    }
+
+    public void setVisited(boolean visited)
+    {
+      _visited = visited;
+    }
+
+    public boolean isVisited()
+    {
+      return _visited;
+    }
+
+    public void setConnectedComponent(int connectedComponent)
+    {
+      _connectedComponent = connectedComponent;
+    }
+
+    public int getConnectedComponent()
+    {
+      return _connectedComponent;
+    }
+
+    public void setPrevisit(int previsit)
+    {
+      _previsit = previsit;
+    }
+
+    public int getPrevisit()
+    {
+      return _previsit;
+    }
+
+    public void setPostvisit(int postvisit)
+    {
+      _postvisit = postvisit;
+    }
+
+    public int getPostvisit()
+    {
+      return _postvisit;
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * ConvexHull.findShells() on n points in the unit disk, per shell engine.
+ * findShells() consumes
+ * its points, so every invocation gets a freshly built hull from the same
+ * seed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConvexHullBenchmark
+{
+  private static final long SEED = 101L;
+
+  @Param({ "1000", "5000" })
+  public int                n;
+
+  @Param({ "JARVIS", "MONOTONE_CHAIN" })
+  public String             engine;
+
+  private Object            _hull;
+
+  @Setup(Level.Invocation)
+  public void setUp() throws Throwable
+  {
+    _hull = Subjects.NEW_CONVEX_HULL.invoke(n, SEED);
+    Subjects.SET_SHELL_ENGINE.invoke(_hull, Subjects.constant(Subjects.SHELL_ENGINE, engine));
+  }
+
+  @Benchmark
+  public int findShells() throws Throwable
+  {
+    return (int) Subjects.FIND_SHELLS.invoke(_hull);
+  }
+}
@@ -0,0 +1,66 @@
+package benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * RandomGraphUtils.performDfs() on a fixed RandomGraph, per DFS engine, and
+ * performParallelComponents() as PARALLEL. The recursive engine gets a large
+ * thread stack so deep components fit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xss64m")
+public class DfsBenchmark
+{
+  private static final long SEED = 101L;
+
+  @Param({ "1000", "10000" })
+  public int                n;
+
+  @Param({ "0.0005", "0.005", "0.05" })
+  public double             p;
+
+  @Param({ "RECURSIVE", "ITERATIVE", "PARALLEL" })
+  public String             engine;
+
+  private Object            _utils;
+
+  @Setup
+  public void setUp() throws Throwable
+  {
+    Object mode = Subjects.constant(Subjects.GENERATION_MODE, "GEOMETRIC_SKIP");
+    Object graph = Subjects.NEW_RANDOM_GRAPH.invoke(n, p, mode, new SplittableRandom(SEED));
+
+    _utils = Subjects.NEW_UTILS.invoke(graph);
+
+    if (!engine.equals("PARALLEL"))
+      Subjects.SET_DFS_ENGINE.invoke(_utils, Subjects.constant(Subjects.DFS_ENGINE, engine));
+  }
+
+  @Benchmark
+  public int performDfs() throws Throwable
+  {
+    if (engine.equals("PARALLEL"))
+      Subjects.PERFORM_PARALLEL_COMPONENTS.invoke(_utils);
+    else
+      Subjects.PERFORM_DFS.invoke(_utils);
+
+    return (int) Subjects.CONNECTED_COMPONENTS.invoke(_utils);
+  }
+}
@@ -0,0 +1,79 @@
+package benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * DynamicHull over a sliding window of unit-disk points: each operation
+ * inserts the next point, expires the oldest and reads the hull.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DynamicHullBenchmark
+{
+  private static final long SEED = 101L;
+
+  @Param({ "1000", "100000" })
+  public int                window;
+
+  private Object[]          _points;
+  private int               _next;
+  private Object            _hull;
+  private SplittableRandom  _random;
+
+  @Setup
+  public void setUp() throws Throwable
+  {
+    _random = new SplittableRandom(SEED);
+    _points = new Object[window];
+    _hull = Subjects.NEW_DYNAMIC_HULL.invoke();
+
+    for (int i = 0; i < window; ++i)
+    {
+      _points[i] = randomPoint();
+      Subjects.DYNAMIC_INSERT.invoke(_hull, _points[i]);
+    }
+
+    _next = 0;
+  }
+
+  @Benchmark
+  public Object slide() throws Throwable
+  {
+    Subjects.DYNAMIC_REMOVE.invoke(_hull, _points[_next]);
+    _points[_next] = randomPoint();
+    Subjects.DYNAMIC_INSERT.invoke(_hull, _points[_next]);
+
+    _next = (_next + 1) % window;
+
+    return Subjects.DYNAMIC_GET_HULL.invoke(_hull);
+  }
+
+  /*
+   * Same distribution as ConvexHull.randomPoint()
+   */
+  private Object randomPoint() throws Throwable
+  {
+    double u = _random.nextDouble() + _random.nextDouble();
+    double t = _random.nextDouble() * 2 * Math.PI;
+    double r = (u > 1) ? 2 - u : u;
+
+    return Subjects.NEW_POINT.invoke(r * Math.cos(t), r * Math.sin(t));
+  }
+}
@@ -0,0 +1,59 @@
+package benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * G(n, p) construction into the linked RandomGraph and the CSR CompactGraph.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GraphGenerationBenchmark
+{
+  private static final long SEED = 101L;
+
+  @Param({ "1000", "5000" })
+  public int                n;
+
+  @Param({ "0.001", "0.01", "0.1", "0.5" })
+  public double             p;
+
+  @Param({ "PAIRWISE", "GEOMETRIC_SKIP", "BULK_PAIRWISE" })
+  public String             mode;
+
+  private Object            _mode;
+
+  @Setup
+  public void setUp()
+  {
+    _mode = Subjects.constant(Subjects.GENERATION_MODE, mode);
+  }
+
+  @Benchmark
+  public Object randomGraph() throws Throwable
+  {
+    return Subjects.NEW_RANDOM_GRAPH.invoke(n, p, _mode, new SplittableRandom(SEED));
+  }
+
+  @Benchmark
+  public Object compactGraph() throws Throwable
+  {
+    return Subjects.NEW_COMPACT_GRAPH.invoke(n, p, _mode, new SplittableRandom(SEED));
+  }
+}
@@ -0,0 +1,51 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * ConvexHull.findHull() on n points in the unit disk, per hull strategy.
+ * findHull() leaves the points in place, so one hull serves every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class HullBenchmark
+{
+  private static final long SEED = 101L;
+
+  @Param({ "1000000", "10000000" })
+  public int                n;
+
+  @Param({ "SEQUENTIAL", "PARALLEL" })
+  public String             strategy;
+
+  private Object            _hull;
+
+  @Setup
+  public void setUp() throws Throwable
+  {
+    _hull = Subjects.NEW_CONVEX_HULL.invoke(n, SEED);
+    Subjects.SET_HULL_STRATEGY.invoke(_hull, Subjects.constant(Subjects.HULL_STRATEGY, strategy));
+  }
+
+  @Benchmark
+  public Object findHull() throws Throwable
+  {
+    return Subjects.FIND_HULL.invoke(_hull);
+  }
+}
@@ -0,0 +1,59 @@
+package benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * RandomGraphUtils.findMst() per MST engine, after one DFS has labelled the
+ * components. SCAN is O(V * E), so the sizes stay small.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xss64m")
+public class MstBenchmark
+{
+  private static final long SEED = 101L;
+
+  @Param({ "100", "500" })
+  public int                n;
+
+  @Param({ "0.01", "0.1", "0.5" })
+  public double             p;
+
+  @Param({ "SCAN", "HEAP_PRIM", "SPANNING_FOREST", "BORUVKA" })
+  public String             engine;
+
+  private Object            _utils;
+
+  @Setup
+  public void setUp() throws Throwable
+  {
+    Object mode = Subjects.constant(Subjects.GENERATION_MODE, "PAIRWISE");
+    Object graph = Subjects.NEW_RANDOM_GRAPH.invoke(n, p, mode, new SplittableRandom(SEED));
+
+    _utils = Subjects.NEW_UTILS.invoke(graph);
+    Subjects.SET_MST_ENGINE.invoke(_utils, Subjects.constant(Subjects.MST_ENGINE, engine));
+    Subjects.PERFORM_DFS.invoke(_utils);
+  }
+
+  @Benchmark
+  public double[] findMst() throws Throwable
+  {
+    return (double[]) Subjects.FIND_MST.invoke(_utils);
+  }
+}
@@ -0,0 +1,75 @@
+package benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * ParallelGraphBuilder against the number of worker threads, next to the
+ * sequential CompactGraph construction of the same size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ParallelGenerationBenchmark
+{
+  private static final long SEED = 101L;
+
+  @Param({ "100000" })
+  public int                n;
+
+  @Param({ "0.001" })
+  public double             p;
+
+  @Param({ "GEOMETRIC_SKIP" })
+  public String             mode;
+
+  @Param({ "1", "2", "4", "8" })
+  public int                threads;
+
+  private Object            _mode;
+  private ForkJoinPool      _pool;
+  private Object            _builder;
+
+  @Setup
+  public void setUp() throws Throwable
+  {
+    _mode = Subjects.constant(Subjects.GENERATION_MODE, mode);
+    _pool = new ForkJoinPool(threads);
+    _builder = Subjects.NEW_PARALLEL_BUILDER.invoke(_pool);
+  }
+
+  @TearDown
+  public void tearDown()
+  {
+    _pool.shutdown();
+  }
+
+  @Benchmark
+  public Object parallelBuild() throws Throwable
+  {
+    return Subjects.PARALLEL_BUILD.invoke(_builder, n, p, _mode, new SplittableRandom(SEED));
+  }
+
+  @Benchmark
+  public Object sequentialBuild() throws Throwable
+  {
+    return Subjects.NEW_COMPACT_GRAPH.invoke(n, p, _mode, new SplittableRandom(SEED));
+  }
+}
@@ -0,0 +1,150 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/*
+ * The project's classes live in the default package, which Java code in a
+ * named package cannot import, and JMH refuses benchmarks in the default
+ * package. The benchmarks therefore reach the project's classes through
+ * method handles resolved once here; a static final handle is a JIT constant,
+ * so the call itself costs next to nothing against the measured work.
+ */
+final class Subjects
+{
+  static final Class<?> RANDOM_GRAPH = load("RandomGraph");
+  static final Class<?> VERTEX = load("RandomGraph$Vertex");
+  static final Class<?> EDGE = load("RandomGraph$Edge");
+  static final Class<?> COMPACT_GRAPH = load("CompactGraph");
+  static final Class<?> GRAPH_UTILS = load("RandomGraphUtils");
+  static final Class<?> PARALLEL_BUILDER = load("ParallelGraphBuilder");
+  static final Class<?> GENERATION_MODE = load("EdgeGenerator$Mode");
+  static final Class<?> DFS_ENGINE = load("RandomGraphUtils$DfsEngine");
+  static final Class<?> MST_ENGINE = load("RandomGraphUtils$MstEngine");
+  static final Class<?> SPANNING_FOREST = load("SpanningForest");
+  static final Class<?> CONVEX_HULL = load("ConvexHull");
+  static final Class<?> SHELL_ENGINE = load("ConvexHull$ShellEngine");
+  static final Class<?> HULL_STRATEGY = load("ConvexHull$HullStrategy");
+  static final Class<?> POINT = load("ConvexHull$Point");
+  static final Class<?> DYNAMIC_HULL = load("DynamicHull");
+  static final Class<?> BREAD_CRUMBS = load("BreadCrumbs");
+
+  static final MethodHandle NEW_RANDOM_GRAPH = constructor(RANDOM_GRAPH, int.class, double.class,
+      GENERATION_MODE, SplittableRandom.class);
+  static final MethodHandle NEW_COMPACT_GRAPH = constructor(COMPACT_GRAPH, int.class,
+      double.class, GENERATION_MODE, SplittableRandom.class);
+  static final MethodHandle NEW_PARALLEL_BUILDER = constructor(PARALLEL_BUILDER,
+      ForkJoinPool.class);
+  static final MethodHandle PARALLEL_BUILD = method(PARALLEL_BUILDER, "build", COMPACT_GRAPH,
+      int.class, double.class, GENERATION_MODE, SplittableRandom.class);
+
+  static final MethodHandle GRAPH_VERTICES = method(RANDOM_GRAPH, "iterator", Iterator.class);
+  static final MethodHandle GRAPH_SIZE = method(RANDOM_GRAPH, "getNumVertices", int.class);
+  static final MethodHandle VERTEX_EDGES = method(VERTEX, "iterator", Iterator.class);
+  static final MethodHandle VERTEX_LABEL = method(VERTEX, "getLabel", int.class);
+  static final MethodHandle EDGE_VERTEX = method(EDGE, "getVertex", VERTEX);
+
+  static final MethodHandle NEW_BREAD_CRUMBS = constructor(BREAD_CRUMBS, int.class);
+  static final MethodHandle SET_ALL_VISITED = method(BREAD_CRUMBS, "setAllVisited", void.class,
+      boolean.class);
+  static final MethodHandle SET_VISITED = method(BREAD_CRUMBS, "setVisited", void.class,
+      int.class, boolean.class);
+  static final MethodHandle IS_VISITED = method(BREAD_CRUMBS, "isVisited", boolean.class,
+      int.class);
+  static final MethodHandle SET_CONNECTED_COMPONENT = method(BREAD_CRUMBS,
+      "setConnectedComponent", void.class, int.class, int.class);
+  static final MethodHandle SET_PREVISIT = method(BREAD_CRUMBS, "setPrevisit", void.class,
+      int.class, int.class);
+  static final MethodHandle SET_POSTVISIT = method(BREAD_CRUMBS, "setPostvisit", void.class,
+      int.class, int.class);
+
+  static final MethodHandle NEW_UTILS = constructor(GRAPH_UTILS, RANDOM_GRAPH);
+  static final MethodHandle SET_DFS_ENGINE = method(GRAPH_UTILS, "setDfsEngine", void.class,
+      DFS_ENGINE);
+  static final MethodHandle SET_MST_ENGINE = method(GRAPH_UTILS, "setMstEngine", void.class,
+      MST_ENGINE);
+  static final MethodHandle PERFORM_DFS = method(GRAPH_UTILS, "performDfs", void.class);
+  static final MethodHandle PERFORM_PARALLEL_COMPONENTS = method(GRAPH_UTILS,
+      "performParallelComponents", void.class);
+  static final MethodHandle FIND_MST = method(GRAPH_UTILS, "findMst", double[].class);
+  static final MethodHandle CONNECTED_COMPONENTS = method(GRAPH_UTILS, "getConnectedComponents",
+      int.class);
+
+  static final MethodHandle NEW_SPANNING_FOREST = constructor(SPANNING_FOREST, int.class);
+  static final MethodHandle CLEAR_FOREST = method(SPANNING_FOREST, "clear", void.class);
+  static final MethodHandle ADD_ROOT = method(SPANNING_FOREST, "addRoot", void.class, int.class);
+  static final MethodHandle ADD_EDGE = method(SPANNING_FOREST, "addEdge", void.class, int.class,
+      int.class, double.class);
+  static final MethodHandle TREE_DIAMETER = method(SPANNING_FOREST, "getTreeDiameter",
+      double.class);
+
+  static final MethodHandle NEW_CONVEX_HULL = constructor(CONVEX_HULL, int.class, long.class);
+  static final MethodHandle SET_SHELL_ENGINE = method(CONVEX_HULL, "setShellEngine", void.class,
+      SHELL_ENGINE);
+  static final MethodHandle FIND_SHELLS = method(CONVEX_HULL, "findShells", int.class);
+  static final MethodHandle SET_HULL_STRATEGY = method(CONVEX_HULL, "setHullStrategy",
+      void.class, HULL_STRATEGY);
+  static final MethodHandle FIND_HULL = method(CONVEX_HULL, "findHull",
+      Array.newInstance(POINT, 0).getClass());
+
+  static final MethodHandle NEW_POINT = constructor(POINT, double.class, double.class);
+  static final MethodHandle NEW_DYNAMIC_HULL = constructor(DYNAMIC_HULL);
+  static final MethodHandle DYNAMIC_INSERT = method(DYNAMIC_HULL, "insert", void.class, POINT);
+  static final MethodHandle DYNAMIC_REMOVE = method(DYNAMIC_HULL, "remove", boolean.class, POINT);
+  static final MethodHandle DYNAMIC_GET_HULL = method(DYNAMIC_HULL, "getHull", List.class);
+
+  private Subjects()
+  {
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  static Object constant(Class<?> enumType, String name)
+  {
+    return Enum.valueOf((Class) enumType, name);
+  }
+
+  private static Class<?> load(String name)
+  {
+    try
+    {
+      return Class.forName(name);
+    }
+    catch (ClassNotFoundException e)
+    {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private static MethodHandle constructor(Class<?> owner, Class<?>... parameters)
+  {
+    try
+    {
+      return MethodHandles.publicLookup().findConstructor(owner,
+          MethodType.methodType(void.class, parameters));
+    }
+    catch (ReflectiveOperationException e)
+    {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private static MethodHandle method(Class<?> owner, String name, Class<?> returnType,
+      Class<?>... parameters)
+  {
+    try
+    {
+      return MethodHandles.publicLookup().findVirtual(owner, name,
+          MethodType.methodType(returnType, parameters));
+    }
+    catch (ReflectiveOperationException e)
+    {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * SpanningForest on a random recursive tree, where vertex i hangs off a
+ * uniformly chosen earlier vertex, as in an MST grown by Prim. buildTree
+ * refills one forest the way findMst() does, so the GC profiler should show
+ * no allocation; treeDiameter measures the diameter pass alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TreeDiameterBenchmark
+{
+  private static final long SEED = 101L;
+
+  @Param({ "1000", "100000" })
+  public int                n;
+
+  private int[]             _parents;
+  private double[]          _costs;
+  private Object            _forest;
+
+  @Setup
+  public void setUp() throws Throwable
+  {
+    SplittableRandom random = new SplittableRandom(SEED);
+
+    _parents = new int[n];
+    _costs = new double[n];
+
+    for (int v = 1; v < n; ++v)
+    {
+      _parents[v] = random.nextInt(v);
+      _costs[v] = random.nextDouble();
+    }
+
+    _forest = Subjects.NEW_SPANNING_FOREST.invoke(n);
+    buildTree();
+  }
+
+  @Benchmark
+  public double buildTree() throws Throwable
+  {
+    Subjects.CLEAR_FOREST.invoke(_forest);
+    Subjects.ADD_ROOT.invoke(_forest, 0);
+
+    for (int v = 1; v < n; ++v)
+      Subjects.ADD_EDGE.invoke(_forest, _parents[v], v, _costs[v]);
+
+    return _costs[n - 1];
+  }
+
+  @Benchmark
+  public double treeDiameter() throws Throwable
+  {
+    return (double) Subjects.TREE_DIAMETER.invoke(_forest);
+  }
+}
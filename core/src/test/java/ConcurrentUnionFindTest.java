@@ -0,0 +1,132 @@
+import static org.junit.Assert.assertEquals;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+/*
+ * ConcurrentUnionFind.labelComponents() against the labels a plain
+ * traversal gives, on random graphs near the connectivity threshold, big
+ * enough to span several blocks, on pools of several sizes
+ */
+public class ConcurrentUnionFindTest
+{
+  private static final int[] POOL_SIZES = { 1, 2, 4, 8 };
+
+  /* ( Tests ) ************************************************************** */
+
+  @Test
+  public void labelsMatchTraversal()
+  {
+    SplittableRandom random = new SplittableRandom(23);
+
+    for (int pool : POOL_SIZES)
+    {
+      ForkJoinPool forkJoinPool = new ForkJoinPool(pool);
+
+      try
+      {
+        for (int trial = 0; trial < 12; ++trial)
+        {
+          int numVertices = 1 + random.nextInt(20000);
+          double degree = 0.25 * (1 + trial % 8);
+          CompactGraph graph = new CompactGraph(numVertices, Math.min(1.0, degree / numVertices),
+              EdgeGenerator.Mode.GEOMETRIC_SKIP, random.split());
+
+          assertLabels(pool + " threads, trial " + trial, graph, forkJoinPool);
+        }
+      }
+      finally
+      {
+        forkJoinPool.shutdown();
+      }
+    }
+  }
+
+  @Test
+  public void isolatedAndCompleteGraphs()
+  {
+    ForkJoinPool pool = new ForkJoinPool(4);
+
+    try
+    {
+      assertLabels("no edges", new CompactGraph(9000, 0.0, 1L), pool);
+      assertLabels("complete", new CompactGraph(300, 1.0, 1L), pool);
+      assertLabels("no vertices", new CompactGraph(0, 0.5, 1L), pool);
+    }
+    finally
+    {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void agreesWithPerformDfs()
+  {
+    CompactGraph graph = new CompactGraph(10000, 1.0 / 10000, EdgeGenerator.Mode.GEOMETRIC_SKIP,
+        new SplittableRandom(5));
+
+    RandomGraphUtils dfs = new RandomGraphUtils(graph);
+    dfs.setDfsEngine(RandomGraphUtils.DfsEngine.ITERATIVE);
+    dfs.performDfs();
+
+    RandomGraphUtils parallel = new RandomGraphUtils(graph);
+    parallel.performParallelComponents();
+
+    assertEquals(dfs.getConnectedComponents(), parallel.getConnectedComponents());
+  }
+
+  /* ( Helpers ) ************************************************************ */
+
+  private static void assertLabels(String message, CompactGraph graph, ForkJoinPool pool)
+  {
+    int[] expected = new int[graph.getNumVertices()];
+    int components = traverse(graph, expected);
+
+    BreadCrumbs crumbs = new BreadCrumbs(graph.getNumVertices());
+    assertEquals(message, components, ConcurrentUnionFind.labelComponents(graph, pool, crumbs));
+
+    for (int v = 0; v < graph.getNumVertices(); ++v)
+      assertEquals(message + ", vertex " + v, expected[v], crumbs.getConnectedComponent(v));
+  }
+
+  /*
+   * Breadth first from each unlabelled vertex in turn, so components are
+   * numbered 1 .. c in order of their lowest vertex
+   */
+  private static int traverse(CompactGraph graph, int[] labels)
+  {
+    int[] queue = new int[graph.getNumVertices()];
+    int components = 0;
+
+    for (int root = 0; root < graph.getNumVertices(); ++root)
+    {
+      if (labels[root] != 0)
+        continue;
+
+      labels[root] = ++components;
+      int head = 0;
+      int tail = 0;
+      queue[tail++] = root;
+
+      while (head < tail)
+      {
+        int u = queue[head++];
+
+        for (int e = graph.getEdgeStart(u); e < graph.getEdgeEnd(u); ++e)
+        {
+          int v = graph.getTarget(e);
+
+          if (labels[v] == 0)
+          {
+            labels[v] = components;
+            queue[tail++] = v;
+          }
+        }
+      }
+    }
+
+    return components;
+  }
+}
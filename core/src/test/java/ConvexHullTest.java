@@ -0,0 +1,246 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+/*
+ * Peeling and findHull() on small integer grids full of repeated and
+ * collinear points, against a brute-force reference in exact long
+ * arithmetic. A layer is the corners of the hull of what is left, one copy
+ * of each; three points or fewer make a last layer of their own.
+ */
+public class ConvexHullTest
+{
+	private static final int TRIALS = 1500;
+
+	@Test
+	public void layersMatchBruteForce()
+	{
+		SplittableRandom random = new SplittableRandom(5);
+
+		for ( int t = 0; t < TRIALS; t++ )
+		{
+			List<long[]> grid = randomGrid(random, t);
+			int expected = referenceLayers(grid);
+
+			assertEquals("trial " + t + " Jarvis", expected, peel(grid, 1.0, ConvexHull.ShellEngine.JARVIS, false));
+			assertEquals("trial " + t + " culling", expected, peel(grid, 1.0, ConvexHull.ShellEngine.JARVIS, true));
+			assertEquals("trial " + t + " monotone", expected, peel(grid, 1.0, ConvexHull.ShellEngine.MONOTONE_CHAIN, false));
+		}
+	}
+
+	/*
+	 * Scaled by 0.1 the grid is no longer exact in binary, and points only
+	 * nearly in line must be told apart the same way by every engine
+	 */
+	@Test
+	public void enginesAgreeOffTheLattice()
+	{
+		SplittableRandom random = new SplittableRandom(6);
+
+		for ( int t = 0; t < TRIALS; t++ )
+		{
+			List<long[]> grid = randomGrid(random, t);
+			int jarvis = peel(grid, 0.1, ConvexHull.ShellEngine.JARVIS, false);
+
+			assertEquals("trial " + t + " culling", jarvis, peel(grid, 0.1, ConvexHull.ShellEngine.JARVIS, true));
+			assertEquals("trial " + t + " monotone", jarvis, peel(grid, 0.1, ConvexHull.ShellEngine.MONOTONE_CHAIN, false));
+		}
+	}
+
+	@Test
+	public void hullMatchesBruteForceCorners()
+	{
+		SplittableRandom random = new SplittableRandom(7);
+
+		for ( int t = 0; t < TRIALS; t++ )
+		{
+			List<long[]> grid = randomGrid(random, t);
+			if ( grid.isEmpty() )
+				continue;
+
+			Set<String> expected = referenceCorners(distinct(grid));
+
+			for ( ConvexHull.HullStrategy strategy : ConvexHull.HullStrategy.values() )
+			{
+				ConvexHull hull = new ConvexHull(store(grid, 1.0));
+				hull.setHullStrategy(strategy);
+				ConvexHull.Point[] corners = hull.findHull();
+
+				Set<String> found = new HashSet<String>();
+				for ( ConvexHull.Point p : corners )
+					found.add(key((long) p.getX(), (long) p.getY()));
+
+				assertEquals("trial " + t + " " + strategy, expected, found);
+				assertEquals("trial " + t + " " + strategy + " repeats a corner", found.size(), corners.length);
+
+				for ( int i = 0; corners.length >= 3 && i < corners.length; i++ )
+				{
+					ConvexHull.Point a = corners[i];
+					ConvexHull.Point b = corners[(i + 1)%corners.length];
+					ConvexHull.Point c = corners[(i + 2)%corners.length];
+					assertEquals("trial " + t + " " + strategy + " not a left turn", -1, hull.orientation(a, b, c));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void copiesOfOnePointPeelOneAtATime()
+	{
+		List<long[]> grid = new ArrayList<long[]>();
+		for ( int i = 0; i < 10; i++ )
+			grid.add(new long[] { 4, 4 });
+
+		//ten copies: one per layer until three are left
+		assertEquals(8, referenceLayers(grid));
+		assertEquals(8, peel(grid, 1.0, ConvexHull.ShellEngine.JARVIS, false));
+		assertEquals(8, peel(grid, 1.0, ConvexHull.ShellEngine.MONOTONE_CHAIN, false));
+	}
+
+	/* ( Helpers ) ********************************************************** */
+
+	/*
+	 * Up to 30 points, or 120 in every fourth trial, on a grid of 1 to 6
+	 * columns; every fifth trial puts them all on the line y = 2x
+	 */
+	private static List<long[]> randomGrid( SplittableRandom random, int trial )
+	{
+		int n = random.nextInt(trial%4 == 0 ? 120 : 30);
+		int side = 1 + random.nextInt(trial%3 == 0 ? 2 : 6);
+		List<long[]> grid = new ArrayList<long[]>();
+
+		for ( int i = 0; i < n; i++ )
+		{
+			if ( trial%5 == 0 )
+			{
+				long v = random.nextInt(side + 3);
+				grid.add(new long[] { v, 2*v });
+			}
+			else
+				grid.add(new long[] { random.nextInt(side), random.nextInt(side) });
+		}
+
+		return grid;
+	}
+
+	private static PointStore store( List<long[]> grid, double scale )
+	{
+		PointStore store = new PointStore(grid.size());
+		for ( long[] p : grid )
+			store.add(p[0]*scale, p[1]*scale);
+		return store;
+	}
+
+	private static int peel( List<long[]> grid, double scale, ConvexHull.ShellEngine engine, boolean culling )
+	{
+		ConvexHull hull = new ConvexHull(store(grid, scale));
+		hull.setShellEngine(engine);
+		hull.setCulling(culling);
+
+		int layers = hull.findShells();
+		assertEquals("points left after peeling", 0, hull.listSize());
+		return layers;
+	}
+
+	private static int referenceLayers( List<long[]> grid )
+	{
+		List<long[]> rest = new ArrayList<long[]>(grid);
+		int layers = 0;
+
+		while ( !rest.isEmpty() )
+		{
+			layers++;
+			if ( rest.size() <= 3 )
+				break;
+
+			Set<String> corners = referenceCorners(distinct(rest));
+			Set<String> peeled = new HashSet<String>();
+			List<long[]> next = new ArrayList<long[]>();
+
+			for ( long[] p : rest )                          //one copy of each corner goes
+				if ( !corners.contains(key(p[0], p[1])) || !peeled.add(key(p[0], p[1])) )
+					next.add(p);
+
+			rest = next;
+		}
+
+		return layers;
+	}
+
+	/*
+	 * A point is a corner unless it lies on a segment or in a triangle of
+	 * other points
+	 */
+	private static Set<String> referenceCorners( List<long[]> points )
+	{
+		Set<String> corners = new HashSet<String>();
+		int m = points.size();
+
+		for ( long[] p : points )
+		{
+			boolean covered = false;
+
+			for ( int i = 0; i < m && !covered; i++ )
+			{
+				long[] a = points.get(i);
+				for ( int j = i + 1; j < m && !covered && a != p; j++ )
+				{
+					long[] b = points.get(j);
+					if ( b == p )
+						continue;
+					if ( cross(a, b, p) == 0 && within(a, b, p) )
+						covered = true;
+
+					for ( int k = j + 1; k < m && !covered; k++ )
+					{
+						long[] c = points.get(k);
+						long turn = Long.signum(cross(a, b, c));
+						if ( c == p || turn == 0 )
+							continue;
+						covered = Long.signum(cross(a, b, p))*turn >= 0
+								&& Long.signum(cross(b, c, p))*turn >= 0
+								&& Long.signum(cross(c, a, p))*turn >= 0;
+					}
+				}
+			}
+
+			if ( !covered )
+				corners.add(key(p[0], p[1]));
+		}
+
+		return corners;
+	}
+
+	private static List<long[]> distinct( List<long[]> points )
+	{
+		Set<String> seen = new HashSet<String>();
+		List<long[]> unique = new ArrayList<long[]>();
+		for ( long[] p : points )
+			if ( seen.add(key(p[0], p[1])) )
+				unique.add(p);
+		return unique;
+	}
+
+	private static long cross( long[] o, long[] a, long[] b )
+	{
+		return (a[0] - o[0])*(b[1] - o[1]) - (a[1] - o[1])*(b[0] - o[0]);
+	}
+
+	private static boolean within( long[] a, long[] b, long[] p )  //inside the box of a and b
+	{
+		return Math.min(a[0], b[0]) <= p[0] && p[0] <= Math.max(a[0], b[0])
+				&& Math.min(a[1], b[1]) <= p[1] && p[1] <= Math.max(a[1], b[1]);
+	}
+
+	private static String key( long x, long y )
+	{
+		return x + "," + y;
+	}
+}
@@ -0,0 +1,76 @@
+import static org.junit.Assert.assertEquals;
+
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+/*
+ * CoupledSweep's incremental steps against every step's graph rebuilt from
+ * scratch: the UnionFind's component counts against a DFS, and the MST of
+ * the last forest plus the new edges against HEAP_PRIM on the whole graph.
+ * One sample per sweep, so each statistic's mean is that sample's value.
+ */
+public class CoupledSweepTest
+{
+  /* ( Tests ) ************************************************************** */
+
+  @Test
+  public void stepsMatchGraphsBuiltFromScratch()
+  {
+    SplittableRandom seeds = new SplittableRandom(25);
+
+    for (int numVertices : new int[] { 1, 2, 20, 100, 400 })
+    {
+      // Up to p = 1, and in finer steps around the threshold at p = 1 / n
+      double[][] ranges = { MonteCarloSweep.probabilityRange(0.0, 1.00004, 0.02),
+          MonteCarloSweep.probabilityRange(0.0, 4.0 / numVertices, 0.1 / numVertices) };
+
+      for (double[] edgeProbabilities : ranges)
+      {
+        long seed = seeds.nextLong();
+        String message = "n = " + numVertices + ", seed " + seed;
+
+        CoupledSweep sweep = new CoupledSweep(numVertices, edgeProbabilities);
+        sweep.setMst(true);
+        sweep.addSample(new SplittableRandom(seed));
+
+        CoupledSweep.SteppedEdges edges = sweep.drawEdges(new SplittableRandom(seed));
+
+        for (int step = 0; step < edgeProbabilities.length; ++step)
+          assertStep(message + ", step " + step, sweep, edges, step, numVertices);
+      }
+    }
+  }
+
+  /* ( Helpers ) ************************************************************ */
+
+  /*
+   * The edges are grouped by step, so a step's graph is every edge up to the
+   * end of its group
+   */
+  private static void assertStep(String message, CoupledSweep sweep, CoupledSweep.SteppedEdges edges,
+      int step, int numVertices)
+  {
+    CompactGraph.Builder builder = new CompactGraph.Builder(numVertices);
+
+    for (int e = 0; e < edges.getStepEnd(step); ++e)
+      builder.addEdge(edges.getSource(e), edges.getDestination(e), edges.getWeight(e));
+
+    RandomGraphUtils utils = new RandomGraphUtils(builder.build());
+    utils.setMstEngine(RandomGraphUtils.MstEngine.HEAP_PRIM);
+    utils.performDfs();
+
+    double[] mstCosts = utils.findMst();
+    double mstTotal = 0;
+
+    for (double cost : mstCosts)
+      mstTotal += cost;
+
+    int components = utils.getConnectedComponents();
+
+    assertEquals(message, components, sweep.getComponents(step).getMean(), 0.0);
+    assertEquals(message, mstTotal / components, sweep.getMstCosts(step).getMean(), 1e-9);
+    assertEquals(message, utils.getMstDiameters() / components,
+        sweep.getMstDiameters(step).getMean(), 1e-9);
+  }
+}
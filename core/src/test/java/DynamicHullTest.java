@@ -0,0 +1,124 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+/*
+ * DynamicHull against a brute-force monotone chain of the points present,
+ * after every step of random insert/delete traces over small grids, where
+ * copies and collinear points are the rule
+ */
+public class DynamicHullTest
+{
+	private static final int TRACES = 2000;
+	private static final int STEPS = 200;
+
+	@Test
+	public void tracesMatchBruteForce()
+	{
+		SplittableRandom random = new SplittableRandom(9);
+
+		for ( int t = 0; t < TRACES; t++ )
+		{
+			DynamicHull hull = new DynamicHull();
+			List<ConvexHull.Point> present = new ArrayList<ConvexHull.Point>();
+			int side = 2 + random.nextInt(t%4 == 0 ? 3 : 12);
+			boolean onLine = t%7 == 0;                       //every point on y = 2x
+
+			for ( int step = 0; step < STEPS; step++ )
+			{
+				if ( present.isEmpty() || random.nextInt(10) < 6 )
+				{
+					int x = random.nextInt(side);
+					ConvexHull.Point p = new ConvexHull.Point(x, onLine ? 2*x : random.nextInt(side));
+					hull.insert(p);
+					present.add(p);
+				}
+				else
+				{
+					ConvexHull.Point p = present.remove(random.nextInt(present.size()));
+					assertTrue(hull.remove(new ConvexHull.Point(p.getX(), p.getY())));
+				}
+
+				assertFalse(hull.remove(new ConvexHull.Point(-1, -1)));
+				assertEquals("trace " + t + " step " + step, present.size(), hull.size());
+				assertEquals("trace " + t + " step " + step, bruteForceHull(present), hull.getHull());
+			}
+		}
+	}
+
+	@Test
+	public void emptiesAndRefills()
+	{
+		DynamicHull hull = new DynamicHull();
+		ConvexHull.Point[] square = { new ConvexHull.Point(0, 0), new ConvexHull.Point(2, 0),
+				new ConvexHull.Point(2, 2), new ConvexHull.Point(0, 2), new ConvexHull.Point(1, 1) };
+
+		for ( int round = 0; round < 3; round++ )
+		{
+			for ( ConvexHull.Point p : square )
+				hull.insert(p);
+			assertEquals(4, hull.getHull().size());
+			assertTrue(hull.contains(new ConvexHull.Point(1, 1)));
+
+			for ( ConvexHull.Point p : square )
+				assertTrue(hull.remove(p));
+			assertEquals(0, hull.size());
+			assertTrue(hull.getHull().isEmpty());
+			assertFalse(hull.contains(new ConvexHull.Point(1, 1)));
+		}
+	}
+
+	@Test
+	public void matchesBatchHull()
+	{
+		ConvexHull batch = new ConvexHull(5000, 3);
+		DynamicHull dynamic = batch.toDynamicHull();
+		List<ConvexHull.Point> corners = new ArrayList<ConvexHull.Point>();
+
+		for ( ConvexHull.Point p : batch.findHull() )
+			corners.add(p);
+
+		assertEquals(corners, dynamic.getHull());
+	}
+
+	/*
+	 * Andrew's monotone chain over the distinct points: corners only,
+	 * counterclockwise from the leftmost
+	 */
+	private static List<ConvexHull.Point> bruteForceHull( List<ConvexHull.Point> present )
+	{
+		List<ConvexHull.Point> points = new ArrayList<ConvexHull.Point>(new TreeSet<ConvexHull.Point>(present));
+		int n = points.size();
+		List<ConvexHull.Point> chain = new ArrayList<ConvexHull.Point>();
+
+		for ( int i = 0; i < n; i++ )                        //lower chain
+			push(chain, points.get(i), 0);
+		for ( int i = n - 2, floor = chain.size() - 1; i >= 0; i-- )  //upper chain, back
+			push(chain, points.get(i), floor);
+
+		if ( chain.size() > 1 )                              //it ends where it started
+			chain.remove(chain.size() - 1);
+		return chain;
+	}
+
+	private static void push( List<ConvexHull.Point> chain, ConvexHull.Point p, int floor )
+	{
+		while ( chain.size() - floor >= 2 && cross(chain.get(chain.size() - 2), chain.get(chain.size() - 1), p) <= 0 )
+			chain.remove(chain.size() - 1);
+		chain.add(p);
+	}
+
+	private static long cross( ConvexHull.Point o, ConvexHull.Point a, ConvexHull.Point b )  //> 0 turning left
+	{
+		long ax = (long) a.getX() - (long) o.getX(), ay = (long) a.getY() - (long) o.getY();
+		long bx = (long) b.getX() - (long) o.getX(), by = (long) b.getY() - (long) o.getY();
+		return ax*by - ay*bx;
+	}
+}
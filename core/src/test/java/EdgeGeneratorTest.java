@@ -0,0 +1,195 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+/*
+ * Edge counts of every mode against p n (n - 1) / 2, and of the
+ * geometric-skip generator down to probabilities where 1 - p rounds to 1.
+ * Every mode must hand each vertex its neighbours in increasing order, as
+ * PAIRWISE does, and all must reject the same probabilities.
+ */
+public class EdgeGeneratorTest
+{
+  private static final int NUM_VERTICES = 1000;
+  private static final int SAMPLES = 200;
+
+  /* ( Tests ) ************************************************************** */
+
+  @Test
+  public void belowDoublePrecisionGivesNoEdges()
+  {
+    for (double p : new double[] { 1e-17, 1e-20, Double.MIN_VALUE })
+    {
+      for (int seed = 0; seed < SAMPLES; ++seed)
+      {
+        CountingSink sink = new CountingSink(NUM_VERTICES);
+
+        EdgeGenerator.geometricSkip(NUM_VERTICES, p, new SplittableRandom(seed), sink);
+
+        assertEquals("p = " + p + ", seed " + seed, 0, sink._numEdges);
+      }
+    }
+  }
+
+  @Test
+  public void tinyProbabilitiesMatchExpectedCount()
+  {
+    for (double p : new double[] { 1e-15, 1e-9, 1e-6, 1e-4, 1e-2 })
+    {
+      CountingSink sink = new CountingSink(NUM_VERTICES);
+      SplittableRandom random = new SplittableRandom(42);
+
+      for (int i = 0; i < SAMPLES; ++i)
+        EdgeGenerator.geometricSkip(NUM_VERTICES, p, random, sink);
+
+      // The count is binomial; allow six standard deviations and one edge
+      double expected = SAMPLES * p * NUM_VERTICES * (NUM_VERTICES - 1) / 2;
+      double tolerance = 6 * Math.sqrt(expected) + 1;
+
+      assertEquals("p = " + p, expected, sink._numEdges, tolerance);
+    }
+  }
+
+  @Test
+  public void everyModeMatchesExpectedCount()
+  {
+    int numVertices = 200;
+    int samples = 40;
+    long pairs = (long) numVertices * (numVertices - 1) / 2;
+
+    for (EdgeGenerator.Mode mode : EdgeGenerator.Mode.values())
+    {
+      for (double p : new double[] { 1e-3, 0.01, 0.1, 0.5, 0.9 })
+      {
+        CountingSink sink = new CountingSink(numVertices);
+        SplittableRandom random = new SplittableRandom(11);
+
+        for (int i = 0; i < samples; ++i)
+          EdgeGenerator.generate(mode, numVertices, p, random, sink);
+
+        // Binomial again: six standard deviations and one edge
+        double expected = samples * p * pairs;
+        double tolerance = 6 * Math.sqrt(expected * (1 - p)) + 1;
+
+        assertEquals(mode + ", p = " + p, expected, sink._numEdges, tolerance);
+      }
+    }
+  }
+
+  @Test
+  public void everyModeListsNeighboursInOrder()
+  {
+    SplittableRandom random = new SplittableRandom(12);
+
+    for (EdgeGenerator.Mode mode : EdgeGenerator.Mode.values())
+    {
+      for (double p : new double[] { 0.0, 0.01, 0.3, 1.0 })
+      {
+        int numVertices = 1 + random.nextInt(1200);
+        CompactGraph graph = new CompactGraph(numVertices, p, mode, random.split());
+
+        for (int v = 0; v < numVertices; ++v)
+          for (int e = graph.getEdgeStart(v) + 1; e < graph.getEdgeEnd(v); ++e)
+            assertTrue(mode + ", p = " + p + ", vertex " + v,
+                graph.getTarget(e - 1) < graph.getTarget(e));
+      }
+    }
+  }
+
+  /*
+   * At p = 1 there is only one graph, so every mode must build PAIRWISE's
+   * adjacency exactly
+   */
+  @Test
+  public void completeGraphsMatchPairwise()
+  {
+    int numVertices = 1500;                                // more than one bulk block per row
+    CompactGraph pairwise = new CompactGraph(numVertices, 1.0, EdgeGenerator.Mode.PAIRWISE,
+        new SplittableRandom(13));
+
+    for (EdgeGenerator.Mode mode : EdgeGenerator.Mode.values())
+    {
+      CompactGraph graph = new CompactGraph(numVertices, 1.0, mode, new SplittableRandom(13));
+
+      for (int v = 0; v <= numVertices; ++v)
+        assertEquals(mode.toString(), pairwise.getEdgeStart(v), graph.getEdgeStart(v));
+
+      for (int e = 0; e < pairwise.getEdgeStart(numVertices); ++e)
+        assertEquals(mode.toString(), pairwise.getTarget(e), graph.getTarget(e));
+    }
+  }
+
+  @Test
+  public void rowRangesStayInRange()
+  {
+    CountingSink sink = new CountingSink(NUM_VERTICES);
+
+    EdgeGenerator.generate(EdgeGenerator.Mode.GEOMETRIC_SKIP, NUM_VERTICES, 1e-17,
+        new SplittableRandom(7), sink, 100, 900);
+    EdgeGenerator.generate(EdgeGenerator.Mode.GEOMETRIC_SKIP, NUM_VERTICES, 1e-3,
+        new SplittableRandom(7), sink, 100, 900);
+
+    assertTrue(sink._numEdges > 0);
+  }
+
+  @Test
+  public void probabilitiesOutsideTheUnitIntervalAreRejected()
+  {
+    for (EdgeGenerator.Mode mode : EdgeGenerator.Mode.values())
+    {
+      for (double p : new double[] { Double.NaN, -0.0001, 1.0000000000000002,
+          Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY })
+      {
+        CountingSink sink = new CountingSink(NUM_VERTICES);
+
+        try
+        {
+          EdgeGenerator.generate(mode, NUM_VERTICES, p, new SplittableRandom(1), sink);
+          fail(mode + " took p = " + p);
+        }
+        catch (IllegalArgumentException e)
+        {
+          assertEquals(0, sink._numEdges);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void probabilityRangeEndsAtOne()
+  {
+    double[] probabilities = MonteCarloSweep.probabilityRange(0.0, 1.00004, 0.02);
+
+    assertEquals(51, probabilities.length);
+    assertEquals(1.0, probabilities[50], 0.0);
+  }
+
+  /* ( Classes ) ************************************************************ */
+
+  /*
+   * Counts edges and checks each is a pair w < v of real vertices
+   */
+  private static class CountingSink implements EdgeSink
+  {
+    private int  _numVertices;
+    private long _numEdges;
+
+    public CountingSink(int numVertices)
+    {
+      _numVertices = numVertices;
+    }
+
+    @Override
+    public void addEdge(int u, int v, double weight)
+    {
+      assertTrue("edge (" + u + ", " + v + ")", 0 <= u && u < v && v < _numVertices);
+      assertTrue(0.0 <= weight && weight < 1.0);
+
+      ++_numEdges;
+    }
+  }
+}
@@ -0,0 +1,185 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/*
+ * GraphFile round trips in both formats, and the files each reader must
+ * turn away
+ */
+public class GraphFileTest
+{
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  /* ( Tests ) ************************************************************** */
+
+  @Test
+  public void binaryRoundTrips() throws IOException
+  {
+    SplittableRandom random = new SplittableRandom(20);
+
+    for (int trial = 0; trial < 10; ++trial)
+    {
+      CompactGraph graph = new CompactGraph(random.nextInt(300), random.nextDouble() * 0.1,
+          EdgeGenerator.Mode.GEOMETRIC_SKIP, random.split());
+      Path path = newFile(".csrg");
+
+      GraphFile.write(graph, path);
+
+      assertSameGraph("trial " + trial, graph, GraphFile.read(path));
+    }
+  }
+
+  /*
+   * The generators list every vertex's neighbours in increasing order, as
+   * readEdgeList() does, so the arrays come back the same
+   */
+  @Test
+  public void edgeListRoundTrips() throws IOException
+  {
+    SplittableRandom random = new SplittableRandom(21);
+
+    for (int trial = 0; trial < 10; ++trial)
+    {
+      CompactGraph graph = new CompactGraph(1 + random.nextInt(300), random.nextDouble() * 0.1,
+          EdgeGenerator.Mode.PAIRWISE, random.split());
+      Path path = newFile(".txt");
+
+      GraphFile.writeEdgeList(graph, path);
+
+      assertSameGraph("trial " + trial, graph, GraphFile.readEdgeList(path));
+    }
+  }
+
+  @Test
+  public void damagedBinaryFilesAreRejected() throws IOException
+  {
+    CompactGraph graph = new CompactGraph(50, 0.2, EdgeGenerator.Mode.GEOMETRIC_SKIP,
+        new SplittableRandom(3));
+    Path path = newFile(".csrg");
+
+    GraphFile.write(graph, path);
+    byte[] bytes = Files.readAllBytes(path);
+
+    assertBinaryFails(Arrays.copyOf(bytes, bytes.length - 1), "length does not match");
+    assertBinaryFails(Arrays.copyOf(bytes, 10), "too short");
+    assertBinaryFails(withInt(bytes, 0, 0x12345678), "not a graph file");
+    assertBinaryFails(withInt(bytes, 4, 2), "version 2");
+    assertBinaryFails(withInt(bytes, 16 + 4 * 51, 50), "missing vertex 50");
+    assertBinaryFails(withInt(bytes, 16 + 4 * 51, -1), "missing vertex -1");
+    assertBinaryFails(withInt(bytes, 16, 1), "do not span");
+  }
+
+  @Test
+  public void badEdgeListsAreRejected() throws IOException
+  {
+    assertEdgeListFails(":3: edge 0 1 repeats line 1", "0 1", "1 2", "0 1 0.5");
+    assertEdgeListFails(":4: edge 2 1 repeats line 2", "0 1", "1 2", "# comment", "2 1");
+    assertEdgeListFails(":2: not a finite weight: NaN", "0 1 0.5", "1 2 NaN");
+    assertEdgeListFails(":1: not a finite weight: Infinity", "0 1 Infinity");
+    assertEdgeListFails(":1: loop at vertex 3", "3 3");
+  }
+
+  @Test
+  public void edgeListKeepsIsolatedVertices() throws IOException
+  {
+    CompactGraph graph = GraphFile.readEdgeList(lines("# vertices 7", "% a comment", "0,1", "2\t5 0.25"));
+
+    assertEquals(7, graph.getNumVertices());
+    assertEquals(2, graph.getNumEdges());
+    assertEquals(1.0, graph.getWeight(graph.getEdgeStart(0)), 0.0);
+    assertEquals(0.25, graph.getWeight(graph.getEdgeStart(5)), 0.0);
+  }
+
+  /* ( Helpers ) ************************************************************ */
+
+  private static void assertSameGraph(String message, CompactGraph expected, CompactGraph actual)
+  {
+    int numVertices = expected.getNumVertices();
+    int numArcs = expected.getEdgeStart(numVertices);
+
+    assertEquals(message, numVertices, actual.getNumVertices());
+
+    for (int v = 0; v <= numVertices; ++v)
+      assertEquals(message + ", offset " + v, expected.getEdgeStart(v), actual.getEdgeStart(v));
+
+    int[] expectedTargets = new int[numArcs];
+    int[] actualTargets = new int[numArcs];
+    double[] expectedWeights = new double[numArcs];
+    double[] actualWeights = new double[numArcs];
+
+    for (int e = 0; e < numArcs; ++e)
+    {
+      expectedTargets[e] = expected.getTarget(e);
+      actualTargets[e] = actual.getTarget(e);
+      expectedWeights[e] = expected.getWeight(e);
+      actualWeights[e] = actual.getWeight(e);
+    }
+
+    assertArrayEquals(message, expectedTargets, actualTargets);
+    assertArrayEquals(message, expectedWeights, actualWeights, 0.0);
+  }
+
+  private void assertBinaryFails(byte[] bytes, String reason) throws IOException
+  {
+    Path path = newFile(".csrg");
+    Files.write(path, bytes);
+
+    try
+    {
+      GraphFile.read(path);
+      fail(reason + ": was read");
+    }
+    catch (IOException e)
+    {
+      assertTrue(e.getMessage(), e.getMessage().contains(reason));
+    }
+  }
+
+  private void assertEdgeListFails(String reason, String... lines) throws IOException
+  {
+    try
+    {
+      GraphFile.readEdgeList(lines(lines));
+      fail(reason + ": was read");
+    }
+    catch (IOException e)
+    {
+      assertTrue(e.getMessage(), e.getMessage().contains(reason));
+    }
+  }
+
+  private static byte[] withInt(byte[] bytes, int position, int value)
+  {
+    byte[] copy = bytes.clone();
+    ByteBuffer.wrap(copy).order(ByteOrder.LITTLE_ENDIAN).putInt(position, value);
+    return copy;
+  }
+
+  private Path lines(String... lines) throws IOException
+  {
+    Path path = newFile(".txt");
+    Files.write(path, String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    return path;
+  }
+
+  private Path newFile(String suffix) throws IOException
+  {
+    return File.createTempFile("graph", suffix, folder.getRoot()).toPath();
+  }
+}
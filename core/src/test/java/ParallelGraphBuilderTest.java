@@ -0,0 +1,119 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+/*
+ * ParallelGraphBuilder must build the same arrays from a seed on one thread
+ * as on four, and a proper undirected graph: every vertex's neighbours in
+ * increasing order, and every arc matched by its reverse with the same
+ * weight
+ */
+public class ParallelGraphBuilderTest
+{
+  /* ( Tests ) ************************************************************** */
+
+  @Test
+  public void poolSizeDoesNotChangeTheGraph()
+  {
+    ForkJoinPool single = new ForkJoinPool(1);
+    ForkJoinPool four = new ForkJoinPool(4);
+
+    try
+    {
+      // From one block up to 15 in every mode, and the most blocks where the
+      // pairs are skipped rather than flipped
+      int[] sizes = { 0, 1, 200, 5000, 20000 };
+      double[] degrees = { 0.5, 3, 20, 100, 100 };
+
+      for (EdgeGenerator.Mode mode : EdgeGenerator.Mode.values())
+      {
+        int tried = (mode == EdgeGenerator.Mode.GEOMETRIC_SKIP) ? sizes.length : sizes.length - 1;
+
+        for (int i = 0; i < tried; ++i)
+        {
+          double edgeProbability = Math.min(1.0, degrees[i] / Math.max(1, sizes[i] - 1));
+          String message = mode + ", n = " + sizes[i];
+
+          CompactGraph expected = new ParallelGraphBuilder(single).build(sizes[i], edgeProbability,
+              mode, new SplittableRandom(22));
+          CompactGraph actual = new ParallelGraphBuilder(four).build(sizes[i], edgeProbability,
+              mode, new SplittableRandom(22));
+
+          assertSameArrays(message, expected, actual);
+          assertUndirected(message, actual);
+        }
+      }
+    }
+    finally
+    {
+      single.shutdown();
+      four.shutdown();
+    }
+  }
+
+  /* ( Helpers ) ************************************************************ */
+
+  private static void assertSameArrays(String message, CompactGraph expected, CompactGraph actual)
+  {
+    int numVertices = expected.getNumVertices();
+
+    assertEquals(message, numVertices, actual.getNumVertices());
+
+    for (int v = 0; v <= numVertices; ++v)
+      assertEquals(message + ", offset " + v, expected.getEdgeStart(v), actual.getEdgeStart(v));
+
+    for (int e = 0; e < expected.getEdgeStart(numVertices); ++e)
+    {
+      assertEquals(message + ", target " + e, expected.getTarget(e), actual.getTarget(e));
+      assertEquals(message + ", weight " + e, expected.getWeight(e), actual.getWeight(e), 0.0);
+    }
+  }
+
+  private static void assertUndirected(String message, CompactGraph graph)
+  {
+    for (int u = 0; u < graph.getNumVertices(); ++u)
+    {
+      for (int e = graph.getEdgeStart(u); e < graph.getEdgeEnd(u); ++e)
+      {
+        int v = graph.getTarget(e);
+
+        assertTrue(message + ", loop at " + u, u != v);
+        assertTrue(message + ", vertex " + u + " out of order",
+            e == graph.getEdgeStart(u) || graph.getTarget(e - 1) < v);
+
+        int reverse = findArc(graph, v, u);
+
+        assertTrue(message + ", arc " + u + " -> " + v + " has no reverse", reverse >= 0);
+        assertEquals(message, graph.getWeight(e), graph.getWeight(reverse), 0.0);
+      }
+    }
+  }
+
+  /*
+   * The arc from u to v, by binary search of u's sorted neighbours; -1 if
+   * there is none
+   */
+  private static int findArc(CompactGraph graph, int u, int v)
+  {
+    int low = graph.getEdgeStart(u);
+    int high = graph.getEdgeEnd(u) - 1;
+
+    while (low <= high)
+    {
+      int middle = (low + high) >>> 1;
+
+      if (graph.getTarget(middle) < v)
+        low = middle + 1;
+      else if (graph.getTarget(middle) > v)
+        high = middle - 1;
+      else
+        return middle;
+    }
+
+    return -1;
+  }
+}
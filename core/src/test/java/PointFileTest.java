@@ -0,0 +1,103 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/*
+ * PointFile on small files written here: headers, comments, bad lines and
+ * coordinates that are not finite
+ */
+public class PointFileTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void headerAfterCommentsIsSkipped() throws IOException
+	{
+		PointStore store = new PointFile().readCsv(csv("# made by hand", "", "x,y", "1,2", "3.5,-4"));
+
+		assertEquals(2, store.size());
+		assertEquals(3.5, store.getX(1), 0);
+		assertEquals(-4, store.getY(1), 0);
+	}
+
+	@Test
+	public void secondHeaderIsRejected() throws IOException
+	{
+		assertFails(csv("# comment", "x,y", "# another", "u,v", "1,2"), ":4:");
+		assertFails(csv("1,2", "x,y"), ":2:");
+	}
+
+	@Test
+	public void nonFiniteCsvIsRejected() throws IOException
+	{
+		assertFails(csv("x,y", "1,2", "NaN,3"), ":3:");
+		assertFails(csv("1,Infinity"), ":1:");
+		assertFails(csv("# first", "-Infinity,0"), ":2:");
+	}
+
+	@Test
+	public void nonFiniteBinaryIsRejected() throws IOException
+	{
+		assertFails(binary(1, 2, 3, 4, 5, Double.NaN), "byte 32");
+		assertFails(binary(Double.POSITIVE_INFINITY, 0), "byte 0");
+	}
+
+	@Test
+	public void binaryRoundTrips() throws IOException
+	{
+		Path path = binary(1, 2, -3, 4.25);
+		PointStore store = new PointFile().readBinary(path);
+		Path copy = folder.newFile("copy.bin").toPath();
+
+		PointFile.writeBinary(store, copy);
+		assertTrue(Arrays.equals(Files.readAllBytes(path), Files.readAllBytes(copy)));
+		assertEquals(-3, store.getX(1), 0);
+	}
+
+	/* ( Helpers ) ********************************************************** */
+
+	private Path csv( String... lines ) throws IOException
+	{
+		Path path = File.createTempFile("points", ".csv", folder.getRoot()).toPath();
+		Files.write(path, String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+		return path;
+	}
+
+	private Path binary( double... coordinates ) throws IOException
+	{
+		ByteBuffer buffer = ByteBuffer.allocate(8*coordinates.length).order(ByteOrder.LITTLE_ENDIAN);
+		for ( double c : coordinates )
+			buffer.putDouble(c);
+
+		Path path = File.createTempFile("points", ".bin", folder.getRoot()).toPath();
+		Files.write(path, buffer.array());
+		return path;
+	}
+
+	private static void assertFails( Path path, String where )
+	{
+		try
+		{
+			new PointFile().read(path);
+			fail(path + " was read");
+		}
+		catch ( IOException e )
+		{
+			assertTrue(e.getMessage(), e.getMessage().contains(where));
+		}
+	}
+}
@@ -0,0 +1,202 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+/*
+ * Predicates.orientation() and compareCrossing() against the same signs
+ * computed exactly, on inputs close enough to a tie that plain floating
+ * point gets them wrong
+ */
+public class PredicatesTest
+{
+	private static final int TRIALS = 200000;
+
+	@Test
+	public void nearlyCollinearPointsMatchExactSign()
+	{
+		SplittableRandom random = new SplittableRandom(3);
+		int onLine = 0;
+
+		for ( int t = 0; t < TRIALS; t++ )
+		{
+			double ax = random.nextDouble(), ay = random.nextDouble();
+			double dx = random.nextDouble(), dy = random.nextDouble();
+			double s = random.nextDouble()*3;
+
+			double bx = ax + dx, by = ay + dy;
+			double px = ax + s*dx, py = ay + s*dy;          //on the line, up to rounding
+
+			if ( t%3 == 0 )                                  //one ulp off it
+				px = Math.nextUp(px);
+			if ( t%5 == 0 )                                  //on an endpoint
+			{
+				px = ax;
+				py = ay;
+			}
+
+			int expected = exactOrientation(ax, ay, bx, by, px, py);
+			if ( expected == 0 )
+				++onLine;
+
+			assertEquals("trial " + t, expected, Predicates.orientation(ax, ay, bx, by, px, py));
+		}
+
+		assertTrue(onLine > 0);
+	}
+
+	@Test
+	public void lattice()
+	{
+		assertEquals(-1, Predicates.orientation(0, 0, 1, 0, 0, 1));  //left of the x axis
+		assertEquals(1, Predicates.orientation(0, 0, 1, 0, 0, -1));
+		assertEquals(0, Predicates.orientation(0, 0, 1, 1, 3, 3));
+		assertEquals(0, Predicates.orientation(0, 0, 1, 1, -2, -2));
+		assertEquals(0, Predicates.orientation(2, 5, 2, 5, 7, 1));   //a and b coincide
+		assertEquals(0, Predicates.orientation(2, 5, 7, 1, 2, 5));   //p is a
+	}
+
+	/*
+	 * Products that underflow to 0 or to subnormals are not a line
+	 */
+	@Test
+	public void tinyCoordinatesMatchExactSign()
+	{
+		assertEquals(1, Predicates.orientation(0, 0, 1e-200, 1e-200, 1e-200, 0));
+		assertEquals(-1, Predicates.orientation(0, 0, 1e-200, 0, 1e-200, 1e-200));
+		assertEquals(0, Predicates.orientation(0, 0, 1e-200, 1e-200, 3e-200, 3e-200));
+
+		SplittableRandom random = new SplittableRandom(8);
+
+		for ( int t = 0; t < TRIALS/100; t++ )
+		{
+			double scale = Math.scalb(1.0, -500 - random.nextInt(570));  //down to subnormal differences
+			double ax = random.nextDouble()*scale, ay = random.nextDouble()*scale;
+			double bx = random.nextDouble()*scale, by = random.nextDouble()*scale;
+			double px = random.nextDouble()*scale, py = random.nextDouble()*scale;
+
+			assertEquals("trial " + t, exactOrientation(ax, ay, bx, by, px, py),
+					Predicates.orientation(ax, ay, bx, by, px, py));
+		}
+	}
+
+	@Test
+	public void crossingsNextToAPointMatchExactOrder()
+	{
+		SplittableRandom random = new SplittableRandom(4);
+		int same = 0;
+
+		for ( int t = 0; t < TRIALS; t++ )
+		{
+			double ax = random.nextDouble(), ay = random.nextDouble();
+			double bx = random.nextDouble(), by = random.nextDouble();
+			double cx = random.nextDouble(), cy = random.nextDouble();
+			double dx = random.nextDouble(), dy = random.nextDouble();
+
+			double den = (bx - ax)*(dy - cy) - (by - ay)*(dx - cx);
+			if ( den == 0 )
+				continue;
+
+			double r = ((cx - ax)*(dy - cy) - (cy - ay)*(dx - cx))/den;
+			double px = ax + r*(bx - ax), py = ay + r*(by - ay);  //the crossing, up to rounding
+
+			if ( t%3 == 0 )                                  //one ulp off it
+				px = Math.nextUp(px);
+			if ( t%5 == 0 )                                  //on c, so that p is the crossing
+			{
+				px = cx;
+				py = cy;
+				ax = 2*cx - bx;
+				ay = 2*cy - by;
+			}
+
+			int expected = exactCrossing(ax, ay, bx, by, cx, cy, dx, dy, px, py);
+			if ( expected == 0 )
+				++same;
+
+			assertEquals("trial " + t, expected, Predicates.compareCrossing(ax, ay, bx, by, cx, cy, dx, dy, px, py));
+		}
+
+		assertTrue(same > 0);
+	}
+
+	@Test
+	public void crossingsOnTheLattice()
+	{
+		assertEquals(0, Predicates.compareCrossing(0, 0, 2, 2, 0, 2, 2, 0, 1, 1));   //the diagonals meet at (1, 1)
+		assertEquals(-1, Predicates.compareCrossing(0, 0, 2, 2, 0, 2, 2, 0, 1, 3));  //same x: by y
+		assertEquals(1, Predicates.compareCrossing(0, 0, 2, 2, 0, 2, 2, 0, 1, 0));
+		assertEquals(1, Predicates.compareCrossing(0, 0, 2, 2, 0, 2, 2, 0, 0, 5));
+		assertEquals(-1, Predicates.compareCrossing(2, 2, 0, 0, 2, 0, 0, 2, 3, -5)); //either direction
+	}
+
+	@Test
+	public void tinyCrossingsMatchExactOrder()
+	{
+		double e = 1e-200;                               //every product underflows
+
+		assertEquals(0, Predicates.compareCrossing(0, 0, 2*e, 2*e, 0, 2*e, 2*e, 0, e, e));
+		assertEquals(-1, Predicates.compareCrossing(0, 0, 2*e, 2*e, 0, 2*e, 2*e, 0, 2*e, 0));
+		assertEquals(1, Predicates.compareCrossing(0, 0, 2*e, 2*e, 0, 2*e, 2*e, 0, 0, 0));
+
+		SplittableRandom random = new SplittableRandom(9);
+
+		for ( int t = 0; t < TRIALS/100; t++ )
+		{
+			double scale = Math.scalb(1.0, -300 - random.nextInt(700));
+			double[] v = new double[10];
+			for ( int i = 0; i < v.length; i++ )
+				v[i] = random.nextDouble()*scale;
+
+			if ( exactDenominator(v) == 0 )
+				continue;
+
+			assertEquals("trial " + t, exactCrossing(v[0], v[1], v[2], v[3], v[4], v[5], v[6], v[7], v[8], v[9]),
+					Predicates.compareCrossing(v[0], v[1], v[2], v[3], v[4], v[5], v[6], v[7], v[8], v[9]));
+		}
+	}
+
+	/*
+	 * ConvexHull.orientation() convention, in BigDecimal
+	 */
+	private static int exactOrientation( double ax, double ay, double bx, double by, double px, double py )
+	{
+		BigDecimal cross = big(bx).subtract(big(ax)).multiply(big(py).subtract(big(ay)))
+				.subtract(big(px).subtract(big(ax)).multiply(big(by).subtract(big(ay))));
+
+		return -cross.signum();
+	}
+
+	/*
+	 * The crossing is a + (b - a)*num/den; compare den*(crossing - p) by x,
+	 * then y, and undo the sign of den
+	 */
+	private static int exactCrossing( double ax, double ay, double bx, double by,
+			double cx, double cy, double dx, double dy, double px, double py )
+	{
+		BigDecimal ux = big(bx).subtract(big(ax)), uy = big(by).subtract(big(ay));
+		BigDecimal wx = big(dx).subtract(big(cx)), wy = big(dy).subtract(big(cy));
+		BigDecimal den = ux.multiply(wy).subtract(uy.multiply(wx));
+		BigDecimal num = big(cx).subtract(big(ax)).multiply(wy).subtract(big(cy).subtract(big(ay)).multiply(wx));
+
+		int sign = big(ax).subtract(big(px)).multiply(den).add(ux.multiply(num)).signum();
+		if ( sign == 0 )
+			sign = big(ay).subtract(big(py)).multiply(den).add(uy.multiply(num)).signum();
+
+		return sign*den.signum();
+	}
+
+	private static int exactDenominator( double[] v )
+	{
+		return big(v[2]).subtract(big(v[0])).multiply(big(v[7]).subtract(big(v[5])))
+				.subtract(big(v[3]).subtract(big(v[1])).multiply(big(v[6]).subtract(big(v[4])))).signum();
+	}
+
+	private static BigDecimal big( double value )
+	{
+		return new BigDecimal(value);
+	}
+}
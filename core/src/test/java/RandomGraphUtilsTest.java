@@ -0,0 +1,270 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+/*
+ * RandomGraphUtils engines on CompactGraphs and RandomGraphs. The ITERATIVE
+ * DFS must number vertices as the RECURSIVE one does, and get through a
+ * path far deeper than the call stack allows. HEAP_PRIM is
+ * checked against the SCAN engine it replaces, tree for tree, on random
+ * weights where the forest is unique. BORUVKA is checked against
+ * HEAP_PRIM cost for cost, on random weights and on small whole-number
+ * weights where ties are the rule and only the costs, not the trees, are
+ * unique.
+ */
+public class RandomGraphUtilsTest
+{
+  /* ( Tests ) ************************************************************** */
+
+  @Test
+  public void mstBeforeDfsIsEmpty()
+  {
+    RandomGraphUtils.MstEngine[] engines = { RandomGraphUtils.MstEngine.SCAN,
+        RandomGraphUtils.MstEngine.HEAP_PRIM, RandomGraphUtils.MstEngine.SPANNING_FOREST,
+        RandomGraphUtils.MstEngine.BORUVKA };
+
+    for (RandomGraphUtils.MstEngine engine : engines)
+    {
+      CompactGraph graph = new CompactGraph(50, 0.1, EdgeGenerator.Mode.GEOMETRIC_SKIP,
+          new SplittableRandom(1));
+      RandomGraphUtils utils = new RandomGraphUtils(graph);
+
+      utils.setMstEngine(engine);
+
+      assertEquals(engine.toString(), 0, utils.findMst().length);
+    }
+  }
+
+  @Test
+  public void iterativeDfsMatchesRecursive()
+  {
+    SplittableRandom random = new SplittableRandom(5);
+
+    for (int trial = 0; trial < 40; ++trial)
+    {
+      int numVertices = 1 + random.nextInt(1000);
+      double degree = 0.25 * (1 + trial % 12);
+      double edgeProbability = Math.min(1.0, degree / numVertices);
+      long seed = random.nextLong();
+
+      assertDfsEnginesAgree("compact, trial " + trial,
+          new RandomGraphUtils(new CompactGraph(numVertices, edgeProbability, seed)),
+          new RandomGraphUtils(new CompactGraph(numVertices, edgeProbability, seed)));
+      assertDfsEnginesAgree("linked, trial " + trial,
+          new RandomGraphUtils(new RandomGraph(numVertices, edgeProbability, seed)),
+          new RandomGraphUtils(new RandomGraph(numVertices, edgeProbability, seed)));
+    }
+  }
+
+  /*
+   * A million vertices in a line: the recursive engine needs a frame per
+   * vertex and overflows the default stack long before the end
+   */
+  @Test
+  public void iterativeDfsWalksALongPath()
+  {
+    int numVertices = 1000000;
+    CompactGraph.Builder builder = new CompactGraph.Builder(numVertices);
+
+    for (int v = 0; v + 1 < numVertices; ++v)
+      builder.addEdge(v, v + 1, 1.0);
+
+    RandomGraphUtils utils = new RandomGraphUtils(builder.build());
+    utils.setDfsEngine(RandomGraphUtils.DfsEngine.ITERATIVE);
+    utils.performDfs();
+
+    BreadCrumbs crumbs = utils.getCrumbs();
+
+    assertEquals(1, utils.getConnectedComponents());
+
+    for (int v = 0; v < numVertices; ++v)
+    {
+      // Down the path one previsit at a time, then back up
+      assertEquals(v + 1, crumbs.getPrevisit(v));
+      assertEquals(2 * numVertices - v, crumbs.getPostvisit(v));
+    }
+  }
+
+  @Test
+  public void heapPrimMatchesScan()
+  {
+    SplittableRandom random = new SplittableRandom(3);
+
+    for (int trial = 0; trial < 30; ++trial)
+    {
+      int numVertices = 1 + random.nextInt(200);
+      double degree = 0.5 * (1 + trial % 10);           // many components up to one
+      double edgeProbability = Math.min(1.0, degree / numVertices);
+      long seed = random.nextLong();
+
+      // SCAN has a separate loop for each graph type
+      assertHeapPrimMatchesScan("compact, trial " + trial,
+          new CompactGraph(numVertices, edgeProbability, seed), null);
+      assertHeapPrimMatchesScan("linked, trial " + trial, null,
+          new RandomGraph(numVertices, edgeProbability, seed));
+    }
+  }
+
+  @Test
+  public void boruvkaMatchesPrimOnRandomWeights()
+  {
+    SplittableRandom random = new SplittableRandom(24);
+
+    for (int trial = 0; trial < 20; ++trial)
+    {
+      int numVertices = 1 + random.nextInt(trial % 4 == 0 ? 12000 : 400);
+      double degree = 0.5 * (1 + trial % 6);
+      CompactGraph graph = new CompactGraph(numVertices, Math.min(1.0, degree / numVertices),
+          EdgeGenerator.Mode.GEOMETRIC_SKIP, random.split());
+
+      assertBoruvkaMatchesPrim("trial " + trial, graph, 1e-9, trial % 2 == 0);
+    }
+  }
+
+  @Test
+  public void boruvkaMatchesPrimOnTiedWeights()
+  {
+    SplittableRandom random = new SplittableRandom(25);
+
+    for (int trial = 0; trial < 40; ++trial)
+    {
+      int numVertices = 1 + random.nextInt(trial % 8 == 0 ? 6000 : 200);
+      double edgeProbability = Math.min(1.0, (0.5 + random.nextInt(6)) / numVertices);
+      int distinctWeights = 1 + trial % 3;                 // one weight for all, or two, or three
+
+      assertBoruvkaMatchesPrim("trial " + trial,
+          tiedGraph(numVertices, edgeProbability, distinctWeights, random), 0, trial % 2 == 0);
+    }
+  }
+
+  /* ( Helpers ) ************************************************************ */
+
+  private static void assertDfsEnginesAgree(String message, RandomGraphUtils recursive,
+      RandomGraphUtils iterative)
+  {
+    recursive.setDfsEngine(RandomGraphUtils.DfsEngine.RECURSIVE);
+    iterative.setDfsEngine(RandomGraphUtils.DfsEngine.ITERATIVE);
+    recursive.performDfs();
+    iterative.performDfs();
+
+    assertEquals(message, recursive.getConnectedComponents(), iterative.getConnectedComponents());
+
+    BreadCrumbs expected = recursive.getCrumbs();
+    BreadCrumbs actual = iterative.getCrumbs();
+
+    for (int v = 0; v < expected.size(); ++v)
+    {
+      assertEquals(message + ", component of " + v, expected.getConnectedComponent(v),
+          actual.getConnectedComponent(v));
+      assertEquals(message + ", previsit of " + v, expected.getPrevisit(v), actual.getPrevisit(v));
+      assertEquals(message + ", postvisit of " + v, expected.getPostvisit(v), actual.getPostvisit(v));
+    }
+  }
+
+  /*
+   * Costs per component, and every vertex's parent and edge cost in the
+   * forest, from SCAN and HEAP_PRIM on one graph
+   */
+  private static void assertHeapPrimMatchesScan(String message, CompactGraph compactGraph,
+      RandomGraph randomGraph)
+  {
+    RandomGraphUtils scan = (compactGraph != null) ? new RandomGraphUtils(compactGraph)
+        : new RandomGraphUtils(randomGraph);
+    RandomGraphUtils heap = (compactGraph != null) ? new RandomGraphUtils(compactGraph)
+        : new RandomGraphUtils(randomGraph);
+
+    scan.setMstEngine(RandomGraphUtils.MstEngine.SCAN);
+    heap.setMstEngine(RandomGraphUtils.MstEngine.HEAP_PRIM);
+    scan.performDfs();
+    heap.performDfs();
+
+    assertArrayEquals(message, scan.findMst(), heap.findMst(), 1e-12);
+    assertEquals(message, scan.getMstDiameters(), heap.getMstDiameters(), 1e-12);
+
+    SpanningForest expected = scan.getSpanningForest();
+    SpanningForest actual = heap.getSpanningForest();
+
+    assertEquals(message, expected.size(), actual.size());
+
+    for (int v = 0; v < expected.size(); ++v)
+    {
+      assertEquals(message + ", parent of " + v, expected.getParent(v), actual.getParent(v));
+      assertEquals(message + ", cost of " + v, expected.getCost(v), actual.getCost(v), 0.0);
+    }
+  }
+
+  /*
+   * Costs per component against HEAP_PRIM, and the forest BORUVKA leaves: one
+   * root per component, every other vertex hanging from a neighbour by an
+   * edge of the graph with that edge's weight
+   */
+  private static void assertBoruvkaMatchesPrim(String message, CompactGraph graph, double delta,
+      boolean parallelComponents)
+  {
+    RandomGraphUtils prim = new RandomGraphUtils(graph);
+    prim.setMstEngine(RandomGraphUtils.MstEngine.HEAP_PRIM);
+    prim.performDfs();
+    double[] expected = prim.findMst();
+
+    RandomGraphUtils boruvka = new RandomGraphUtils(graph);
+    boruvka.setMstEngine(RandomGraphUtils.MstEngine.BORUVKA);
+
+    if (parallelComponents)
+      boruvka.performParallelComponents();
+    else
+      boruvka.performDfs();
+
+    assertEquals(message, prim.getConnectedComponents(), boruvka.getConnectedComponents());
+    assertArrayEquals(message, expected, boruvka.findMst(), delta * graph.getNumVertices());
+
+    SpanningForest forest = boruvka.getSpanningForest();
+    int roots = 0;
+
+    assertEquals(message, graph.getNumVertices(), forest.size());
+
+    for (int v = 0; v < graph.getNumVertices(); ++v)
+    {
+      int parent = forest.getParent(v);
+
+      if (parent < 0)
+      {
+        ++roots;
+        continue;
+      }
+
+      boolean found = false;
+
+      for (int e = graph.getEdgeStart(v); e < graph.getEdgeEnd(v) && !found; ++e)
+        found = graph.getTarget(e) == parent && graph.getWeight(e) == forest.getCost(v);
+
+      assertTrue(message + ", vertex " + v + " hangs from a non-neighbour", found);
+    }
+
+    assertEquals(message, boruvka.getConnectedComponents(), roots);
+  }
+
+  /*
+   * Each pair u < v an edge with the given probability, weighted 1 to
+   * distinctWeights
+   */
+  private static CompactGraph tiedGraph(int numVertices, double edgeProbability,
+      int distinctWeights, SplittableRandom random)
+  {
+    CompactGraph.Builder builder = new CompactGraph.Builder(numVertices);
+
+    for (int u = 0; u < numVertices; ++u)
+    {
+      for (int v = u + 1; v < numVertices; ++v)
+      {
+        if (random.nextDouble() < edgeProbability)
+          builder.addEdge(u, v, 1 + random.nextInt(distinctWeights));
+      }
+    }
+
+    return builder.build();
+  }
+}
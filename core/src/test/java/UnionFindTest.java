@@ -0,0 +1,84 @@
+import static org.junit.Assert.assertEquals;
+
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+/*
+ * Streaming component counts against a DFS of the graph the same seed
+ * builds, for every generator mode, from average degree 0.25 to 3 across
+ * the giant-component threshold at 1
+ */
+public class UnionFindTest
+{
+  /* ( Tests ) ************************************************************** */
+
+  @Test
+  public void streamingCountsMatchDfs()
+  {
+    SplittableRandom seeds = new SplittableRandom(10);
+
+    for (EdgeGenerator.Mode mode : EdgeGenerator.Mode.values())
+    {
+      for (int numVertices : new int[] { 1, 2, 50, 500, 2000 })
+      {
+        for (int step = 1; step <= 12; ++step)
+        {
+          double degree = 0.25 * step;
+          double edgeProbability = Math.min(1.0, degree / Math.max(1, numVertices - 1));
+          long seed = seeds.nextLong();
+          String message = mode + ", n = " + numVertices + ", c = " + degree;
+
+          CompactGraph graph = new CompactGraph(numVertices, edgeProbability, mode,
+              new SplittableRandom(seed));
+          RandomGraphUtils utils = new RandomGraphUtils(graph);
+          utils.setDfsEngine(RandomGraphUtils.DfsEngine.ITERATIVE);
+          utils.performDfs();
+
+          assertEquals(message, utils.getConnectedComponents(),
+              UnionFind.countComponents(numVertices, edgeProbability, mode, new SplittableRandom(seed)));
+
+          assertSamePartition(message, graph, utils.getCrumbs());
+        }
+      }
+    }
+  }
+
+  /* ( Helpers ) ************************************************************ */
+
+  /*
+   * Two vertices share a set exactly when the DFS put them in one component
+   */
+  private static void assertSamePartition(String message, CompactGraph graph, BreadCrumbs crumbs)
+  {
+    UnionFind sets = new UnionFind(graph.getNumVertices());
+
+    for (int u = 0; u < graph.getNumVertices(); ++u)
+      for (int e = graph.getEdgeStart(u); e < graph.getEdgeEnd(u); ++e)
+        sets.addEdge(u, graph.getTarget(e), graph.getWeight(e));
+
+    // Each component's lowest vertex is the first one the DFS labels with it
+    int[] representatives = new int[graph.getNumVertices() + 1];
+
+    for (int v = graph.getNumVertices() - 1; v >= 0; --v)
+      representatives[crumbs.getConnectedComponent(v)] = v;
+
+    for (int v = 0; v < graph.getNumVertices(); ++v)
+    {
+      int representative = representatives[crumbs.getConnectedComponent(v)];
+      assertEquals(message + ", vertex " + v, sets.find(representative), sets.find(v));
+    }
+
+    assertEquals(message, sets.getComponents(), countLabels(crumbs));
+  }
+
+  private static int countLabels(BreadCrumbs crumbs)
+  {
+    int largest = 0;
+
+    for (int v = 0; v < crumbs.size(); ++v)
+      largest = Math.max(largest, crumbs.getConnectedComponent(v));
+
+    return largest;
+  }
+}
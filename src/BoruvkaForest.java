@@ -0,0 +1,311 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ * Minimum spanning forest edges by Boruvka's algorithm on a ForkJoinPool.
+ * Every round, each component finds its cheapest edge to another component,
+ * all in parallel, and then all those edges are contracted at once through a
+ * ConcurrentUnionFind. Each round at least halves the number of components
+ * that still have an edge out, so there are O(log n) rounds.
+ *
+ * Each vertex's arcs are sorted cheapest first, once, and the vertex keeps a
+ * cursor to its first arc that may still leave its component. An arc inside
+ * a component stays inside, so the cursors only move forward: over all
+ * rounds the arcs are passed once, and a round costs O(n) besides.
+ *
+ * Edges are ordered by weight, then by their lower and higher endpoints, so
+ * even equal weights have a single cheapest edge and no round can close a
+ * cycle. The forest is the one Prim finds whenever the weights are distinct.
+ */
+public class BoruvkaForest
+{
+  private static final int  VERTEX_GRAIN = 1 << 12;  // vertices per task
+  private static final int  INSERTION_SORT_THRESHOLD = 16;
+  private static final long NO_EDGE = -1L;
+
+  private CompactGraph        _graph;
+  private ConcurrentUnionFind _sets;
+
+  // The cheapest edge out of each component, indexed by its root, packed as
+  // (source << 32) | arc
+  private AtomicLongArray     _cheapest;
+
+  // The arcs of each vertex cheapest first, and the next one to look at
+  private int[]               _sortedArcs;
+  private int[]               _cursors;
+
+  private int[]               _sources;
+  private int[]               _arcs;
+  private AtomicInteger       _numEdges;
+
+  /* ( Constructors ) ******************************************************* */
+
+  private BoruvkaForest(CompactGraph graph)
+  {
+    int numVertices = graph.getNumVertices();
+
+    _graph = graph;
+    _sets = new ConcurrentUnionFind(numVertices);
+    _cheapest = new AtomicLongArray(numVertices);
+    _sources = new int[Math.max(0, numVertices - 1)];
+    _arcs = new int[Math.max(0, numVertices - 1)];
+    _numEdges = new AtomicInteger();
+    _sortedArcs = new int[graph.getEdgeStart(numVertices)];
+    _cursors = new int[numVertices];
+
+    for (int v = 0; v < numVertices; ++v)
+      _cheapest.set(v, NO_EDGE);
+  }
+
+  /* ( Forest ) ************************************************************* */
+
+  /*
+   * Finds the forest of the graph on the pool. Its edges are written to
+   * sources[i] and arcs[i], an arc index into the graph leaving sources[i],
+   * in no particular order; returns how many there are. Both arrays need room
+   * for n - 1 edges.
+   */
+  public static int findEdges(CompactGraph graph, ForkJoinPool pool, int[] sources, int[] arcs)
+  {
+    BoruvkaForest forest = new BoruvkaForest(graph);
+    int numBlocks = (graph.getNumVertices() + VERTEX_GRAIN - 1) / VERTEX_GRAIN;
+
+    pool.invoke(forest.new RoundTask(Phase.SORT, 0, numBlocks));
+
+    while (true)
+    {
+      int before = forest._numEdges.get();
+
+      pool.invoke(forest.new RoundTask(Phase.FIND, 0, numBlocks));
+      pool.invoke(forest.new RoundTask(Phase.CONTRACT, 0, numBlocks));
+
+      if (forest._numEdges.get() == before)
+        break;
+    }
+
+    System.arraycopy(forest._sources, 0, sources, 0, forest._numEdges.get());
+    System.arraycopy(forest._arcs, 0, arcs, 0, forest._numEdges.get());
+
+    return forest._numEdges.get();
+  }
+
+  /*
+   * True if the edge at arc a leaving u is cheaper than the one at arc b
+   * leaving v
+   */
+  private boolean cheaper(int u, int a, int v, int b)
+  {
+    double weightA = _graph.getWeight(a);
+    double weightB = _graph.getWeight(b);
+
+    if (weightA != weightB)
+      return weightA < weightB;
+
+    int lowA = Math.min(u, _graph.getTarget(a));
+    int lowB = Math.min(v, _graph.getTarget(b));
+
+    if (lowA != lowB)
+      return lowA < lowB;
+
+    return Math.max(u, _graph.getTarget(a)) < Math.max(v, _graph.getTarget(b));
+  }
+
+  /*
+   * Offers vertex's cheapest edge out of its component to the component's
+   * root, keeping whichever is cheaper
+   */
+  private void offer(int root, int vertex, int arc)
+  {
+    long candidate = ((long) vertex << 32) | arc;
+
+    while (true)
+    {
+      long current = _cheapest.get(root);
+
+      if (current != NO_EDGE && !cheaper(vertex, arc, (int) (current >>> 32), (int) current))
+        return;
+
+      if (_cheapest.compareAndSet(root, current, candidate))
+        return;
+    }
+  }
+
+  /*
+   * Sorts _sortedArcs[from .. to - 1], arcs leaving vertex, cheapest first:
+   * quicksort with a median-of-three pivot, insertion sort for short ranges
+   */
+  private void sortArcs(int vertex, int from, int to)
+  {
+    int[] a = _sortedArcs;
+
+    while (to - from > INSERTION_SORT_THRESHOLD)
+    {
+      int mid = (from + to - 1) >>> 1;
+
+      if (cheaper(vertex, a[mid], vertex, a[from]))
+        swap(a, from, mid);
+      if (cheaper(vertex, a[to - 1], vertex, a[mid]))
+      {
+        swap(a, mid, to - 1);
+        if (cheaper(vertex, a[mid], vertex, a[from]))
+          swap(a, from, mid);
+      }
+
+      int pivot = a[mid];
+      int i = from;
+      int j = to - 1;
+
+      while (i <= j)
+      {
+        while (cheaper(vertex, a[i], vertex, pivot))
+          ++i;
+        while (cheaper(vertex, pivot, vertex, a[j]))
+          --j;
+        if (i <= j)
+          swap(a, i++, j--);
+      }
+
+      if (j + 1 - from < to - i)
+      {
+        sortArcs(vertex, from, j + 1);
+        from = i;
+      }
+      else
+      {
+        sortArcs(vertex, i, to);
+        to = j + 1;
+      }
+    }
+
+    for (int i = from + 1; i < to; ++i)
+    {
+      int arc = a[i];
+      int j = i - 1;
+
+      while (j >= from && cheaper(vertex, arc, vertex, a[j]))
+      {
+        a[j + 1] = a[j];
+        --j;
+      }
+
+      a[j + 1] = arc;
+    }
+  }
+
+  private static void swap(int[] a, int i, int j)
+  {
+    int t = a[i];
+    a[i] = a[j];
+    a[j] = t;
+  }
+
+  /* ( Classes ) ************************************************************ */
+
+  private enum Phase
+  {
+    SORT, FIND, CONTRACT
+  }
+
+  /*
+   * One phase over blocks [from, to) of VERTEX_GRAIN vertices.
+   *
+   * SORT:     sort every vertex's arcs and point its cursor at the first.
+   * FIND:     every vertex moves its cursor past arcs inside its component
+   *           and offers the arc it stops at. No unions happen in this
+   *           phase, so find() is stable.
+   * CONTRACT: every root with an offer unions across it; the union that
+   *           succeeds keeps the edge, so an edge chosen from both sides is
+   *           kept once.
+   */
+  private class RoundTask extends RecursiveAction
+  {
+    private static final long serialVersionUID = 1L;
+
+    private Phase             _phase;
+    private int               _from;
+    private int               _to;
+
+    public RoundTask(Phase phase, int from, int to)
+    {
+      _phase = phase;
+      _from = from;
+      _to = to;
+    }
+
+    @Override
+    protected void compute()
+    {
+      if (_to - _from > 1)
+      {
+        int middle = (_from + _to) >>> 1;
+
+        invokeAll(new RoundTask(_phase, _from, middle), new RoundTask(_phase, middle, _to));
+
+        return;
+      }
+
+      if (_to == _from)
+        return;
+
+      int first = _from * VERTEX_GRAIN;
+      int last = Math.min(first + VERTEX_GRAIN, _graph.getNumVertices());
+
+      if (_phase == Phase.SORT)
+      {
+        for (int v = first; v < last; ++v)
+        {
+          for (int e = _graph.getEdgeStart(v); e < _graph.getEdgeEnd(v); ++e)
+            _sortedArcs[e] = e;
+
+          sortArcs(v, _graph.getEdgeStart(v), _graph.getEdgeEnd(v));
+          _cursors[v] = _graph.getEdgeStart(v);
+        }
+
+        return;
+      }
+
+      if (_phase == Phase.FIND)
+      {
+        for (int v = first; v < last; ++v)
+        {
+          int root = _sets.find(v);
+          int end = _graph.getEdgeEnd(v);
+          int cursor = _cursors[v];
+
+          while (cursor < end && _sets.find(_graph.getTarget(_sortedArcs[cursor])) == root)
+            ++cursor;
+
+          _cursors[v] = cursor;
+
+          if (cursor < end)
+            offer(root, v, _sortedArcs[cursor]);
+        }
+
+        return;
+      }
+
+      for (int v = first; v < last; ++v)
+      {
+        long edge = _cheapest.get(v);
+
+        if (edge == NO_EDGE)
+          continue;
+
+        _cheapest.set(v, NO_EDGE);
+
+        int source = (int) (edge >>> 32);
+        int arc = (int) edge;
+
+        if (_sets.union(source, _graph.getTarget(arc)))
+        {
+          int i = _numEdges.getAndIncrement();
+
+          _sources[i] = source;
+          _arcs[i] = arc;
+        }
+      }
+    }
+  }
+}
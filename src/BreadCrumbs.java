@@ -0,0 +1,76 @@
+import java.util.BitSet;
+
+/*
+ * Per-vertex traversal state for the vertices 0 .. n - 1, kept in parallel
+ * primitive arrays indexed by vertex label, with a bitset for the visited
+ * flags.
+ */
+public class BreadCrumbs
+{
+  private BitSet _visited;
+  private int[]  _connectedComponents;
+  private int[]  _previsits;
+  private int[]  _postvisits;
+
+  /* ( Constructors ) ******************************************************* */
+
+  public BreadCrumbs(int numVertices)
+  {
+    _visited = new BitSet(numVertices);
+    _connectedComponents = new int[numVertices];
+    _previsits = new int[numVertices];
+    _postvisits = new int[numVertices];
+  }
+
+  /* ( Accessors/Mutators ) ************************************************* */
+
+  public int size()
+  {
+    return _connectedComponents.length;
+  }
+
+  public void setVisited(int vertex, boolean visited)
+  {
+    _visited.set(vertex, visited);
+  }
+
+  public boolean isVisited(int vertex)
+  {
+    return _visited.get(vertex);
+  }
+
+  public void setAllVisited(boolean visited)
+  {
+    _visited.set(0, size(), visited);
+  }
+
+  public void setConnectedComponent(int vertex, int connectedComponent)
+  {
+    _connectedComponents[vertex] = connectedComponent;
+  }
+
+  public int getConnectedComponent(int vertex)
+  {
+    return _connectedComponents[vertex];
+  }
+
+  public void setPrevisit(int vertex, int previsit)
+  {
+    _previsits[vertex] = previsit;
+  }
+
+  public int getPrevisit(int vertex)
+  {
+    return _previsits[vertex];
+  }
+
+  public void setPostvisit(int vertex, int postvisit)
+  {
+    _postvisits[vertex] = postvisit;
+  }
+
+  public int getPostvisit(int vertex)
+  {
+    return _postvisits[vertex];
+  }
+}
@@ -0,0 +1,277 @@
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.SplittableRandom;
+
+/*
+ * Immutable compressed-sparse-row form of an undirected weighted graph. The
+ * edges of vertex v are stored at indices [offsets[v], offsets[v + 1]) of the
+ * targets and weights arrays; every undirected edge appears once per endpoint.
+ */
+public class CompactGraph
+{
+  private final int      _numVertices;
+
+  private final int[]    _offsets;
+  private final int[]    _targets;
+  private final double[] _weights;
+
+  /* ( Constructors ) ******************************************************* */
+
+  public CompactGraph(int numVertices, double edgeProbability)
+  {
+    this(numVertices, edgeProbability, EdgeGenerator.Mode.PAIRWISE);
+  }
+
+  public CompactGraph(int numVertices, double edgeProbability, EdgeGenerator.Mode mode)
+  {
+    this(numVertices, edgeProbability, mode, new SplittableRandom());
+  }
+
+  public CompactGraph(int numVertices, double edgeProbability, long seed)
+  {
+    this(numVertices, edgeProbability, EdgeGenerator.Mode.PAIRWISE, new SplittableRandom(seed));
+  }
+
+  public CompactGraph(int numVertices, double edgeProbability, EdgeGenerator.Mode mode,
+      SplittableRandom random)
+  {
+    this(createEdges(mode, numVertices, edgeProbability, random));
+  }
+
+  /*
+   * Takes the arrays over as they are; GraphFile checks them before it
+   * calls this.
+   */
+  CompactGraph(int numVertices, int[] offsets, int[] targets, double[] weights)
+  {
+    _numVertices = numVertices;
+
+    _offsets = offsets;
+    _targets = targets;
+    _weights = weights;
+  }
+
+  private CompactGraph(Builder builder)
+  {
+    _numVertices = builder._numVertices;
+
+    _offsets = new int[_numVertices + 1];
+    _targets = new int[2 * builder._numEdges];
+    _weights = new double[2 * builder._numEdges];
+
+    // Count the degree of every vertex, then turn the counts into offsets
+    for (int e = 0; e < builder._numEdges; ++e)
+    {
+      ++_offsets[builder._sources[e] + 1];
+      ++_offsets[builder._destinations[e] + 1];
+    }
+
+    for (int v = 0; v < _numVertices; ++v)
+      _offsets[v + 1] += _offsets[v];
+
+    // Scatter both directions of every edge. Edges are placed in the order
+    // they were added, so a generator that emits pairs in row order produces
+    // the same adjacency order as RandomGraph.
+    int[] next = Arrays.copyOf(_offsets, _numVertices);
+
+    for (int e = 0; e < builder._numEdges; ++e)
+    {
+      int u = builder._sources[e];
+      int v = builder._destinations[e];
+      double weight = builder._edgeWeights[e];
+
+      _targets[next[u]] = v;
+      _weights[next[u]++] = weight;
+
+      _targets[next[v]] = u;
+      _weights[next[v]++] = weight;
+    }
+  }
+
+  /*
+   * Packs an existing RandomGraph. Every vertex keeps its edges in the same
+   * order as its edge list, so traversals visit vertices in the same order.
+   */
+  public static CompactGraph of(RandomGraph randomGraph)
+  {
+    int numVertices = randomGraph.getNumVertices();
+    int[] offsets = new int[numVertices + 1];
+
+    Iterator<RandomGraph.Vertex> i = randomGraph.iterator();
+
+    while (i.hasNext())
+    {
+      RandomGraph.Vertex v = i.next();
+      Iterator<RandomGraph.Edge> edges = v.iterator();
+
+      while (edges.hasNext())
+      {
+        edges.next();
+        ++offsets[v.getLabel() + 1];
+      }
+    }
+
+    for (int v = 0; v < numVertices; ++v)
+      offsets[v + 1] += offsets[v];
+
+    int[] targets = new int[offsets[numVertices]];
+    double[] weights = new double[offsets[numVertices]];
+
+    i = randomGraph.iterator();
+
+    while (i.hasNext())
+    {
+      RandomGraph.Vertex v = i.next();
+      Iterator<RandomGraph.Edge> edges = v.iterator();
+
+      int e = offsets[v.getLabel()];
+
+      while (edges.hasNext())
+      {
+        RandomGraph.Edge edge = edges.next();
+
+        targets[e] = edge.getVertex().getLabel();
+        weights[e] = edge.getWeight();
+        ++e;
+      }
+    }
+
+    return new CompactGraph(numVertices, offsets, targets, weights);
+  }
+
+  /* ( Initialization ) ***************************************************** */
+
+  private static Builder createEdges(EdgeGenerator.Mode mode, int numVertices,
+      double edgeProbability, SplittableRandom random)
+  {
+    Builder builder = new Builder(numVertices);
+
+    EdgeGenerator.generate(mode, numVertices, edgeProbability, random, builder);
+
+    return builder;
+  }
+
+  /* ( Accessors ) ********************************************************** */
+
+  public int getNumVertices()
+  {
+    return _numVertices;
+  }
+
+  public int getNumEdges()
+  {
+    return _targets.length / 2;
+  }
+
+  public int getDegree(int vertex)
+  {
+    return _offsets[vertex + 1] - _offsets[vertex];
+  }
+
+  public int getEdgeStart(int vertex)
+  {
+    return _offsets[vertex];
+  }
+
+  public int getEdgeEnd(int vertex)
+  {
+    return _offsets[vertex + 1];
+  }
+
+  public int getTarget(int edge)
+  {
+    return _targets[edge];
+  }
+
+  public double getWeight(int edge)
+  {
+    return _weights[edge];
+  }
+
+  /* ( Display ) ************************************************************ */
+
+  public String toString(int vertex)
+  {
+    StringBuilder s = new StringBuilder();
+
+    s.append("Vertex [").append(vertex).append("], Edges { ");
+
+    for (int e = getEdgeStart(vertex); e < getEdgeEnd(vertex); ++e)
+    {
+      BigDecimal bd = new BigDecimal(_weights[e]);
+      bd = bd.setScale(3, RoundingMode.HALF_UP);
+      s.append("(").append(_targets[e]).append(", ").append(bd.doubleValue()).append("), ");
+    }
+
+    s.append(" }");
+
+    return s.toString();
+  }
+
+  /* ( Classes ) ************************************************************ */
+
+  /*
+   * Collects edges into growable primitive arrays and packs them into a
+   * CompactGraph. Edges must not repeat.
+   */
+  public static class Builder implements EdgeSink
+  {
+    private int      _numVertices;
+    private int      _numEdges;
+
+    private int[]    _sources;
+    private int[]    _destinations;
+    private double[] _edgeWeights;
+
+    public Builder(int numVertices)
+    {
+      _numVertices = numVertices;
+      _numEdges = 0;
+
+      _sources = new int[16];
+      _destinations = new int[16];
+      _edgeWeights = new double[16];
+    }
+
+    @Override
+    public void addEdge(int u, int v, double weight)
+    {
+      ensureCapacity(_numEdges + 1);
+
+      _sources[_numEdges] = u;
+      _destinations[_numEdges] = v;
+      _edgeWeights[_numEdges] = weight;
+      ++_numEdges;
+    }
+
+    @Override
+    public void addEdges(int u, int[] neighbours, double[] weights, int count)
+    {
+      ensureCapacity(_numEdges + count);
+
+      Arrays.fill(_sources, _numEdges, _numEdges + count, u);
+      System.arraycopy(neighbours, 0, _destinations, _numEdges, count);
+      System.arraycopy(weights, 0, _edgeWeights, _numEdges, count);
+      _numEdges += count;
+    }
+
+    private void ensureCapacity(int numEdges)
+    {
+      if (numEdges > _sources.length)
+      {
+        int capacity = Math.max(_sources.length * 2, numEdges);
+
+        _sources = Arrays.copyOf(_sources, capacity);
+        _destinations = Arrays.copyOf(_destinations, capacity);
+        _edgeWeights = Arrays.copyOf(_edgeWeights, capacity);
+      }
+    }
+
+    public CompactGraph build()
+    {
+      return new CompactGraph(this);
+    }
+  }
+}
@@ -0,0 +1,212 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/*
+ * Disjoint sets over the vertices 0 .. n - 1 that any number of threads can
+ * merge at once, lock-free. The parents live in an AtomicIntegerArray; a
+ * union links one root to the other with a compare-and-set, and retries if
+ * another thread got there first. find() halves paths with the same CAS.
+ *
+ * Roots are always linked under the smaller root, so a parent is never
+ * larger than its child and the root of every set is its lowest vertex.
+ * That is the vertex a DFS sweeping 0 .. n - 1 would start the component
+ * from, which lets labelComponents() number components exactly as
+ * RandomGraphUtils.performDfs() does.
+ */
+public class ConcurrentUnionFind
+{
+  private static final int VERTEX_GRAIN = 1 << 12;   // vertices per task
+
+  private AtomicIntegerArray _parents;
+
+  /* ( Constructors ) ******************************************************* */
+
+  public ConcurrentUnionFind(int numVertices)
+  {
+    _parents = new AtomicIntegerArray(numVertices);
+
+    for (int v = 0; v < numVertices; ++v)
+      _parents.set(v, v);
+  }
+
+  /* ( Operations ) ********************************************************* */
+
+  public int find(int vertex)
+  {
+    int parent = _parents.get(vertex);
+
+    while (parent != vertex)
+    {
+      int grandparent = _parents.get(parent);
+
+      // Losing this race is harmless: someone else moved vertex up already
+      if (grandparent != parent)
+        _parents.compareAndSet(vertex, parent, grandparent);
+
+      vertex = parent;
+      parent = grandparent;
+    }
+
+    return vertex;
+  }
+
+  /*
+   * Merges the sets of u and v. Returns false if they were already one set.
+   */
+  public boolean union(int u, int v)
+  {
+    while (true)
+    {
+      int rootU = find(u);
+      int rootV = find(v);
+
+      if (rootU == rootV)
+        return false;
+
+      if (rootU < rootV)
+      {
+        int root = rootU;
+        rootU = rootV;
+        rootV = root;
+      }
+
+      // rootU may have been linked since find() returned it; then try again
+      if (_parents.compareAndSet(rootU, rootU, rootV))
+        return true;
+    }
+  }
+
+  public boolean isRoot(int vertex)
+  {
+    return _parents.get(vertex) == vertex;
+  }
+
+  public int size()
+  {
+    return _parents.length();
+  }
+
+  /* ( Components ) ********************************************************* */
+
+  /*
+   * Labels every vertex of the graph with its component, 1 .. c, on the
+   * pool, and returns c. Components are numbered in order of their lowest
+   * vertex, as the DFS numbers them.
+   *
+   * Each edge is merged once, from its lower endpoint; then each block of
+   * vertices counts its roots, a prefix sum over the blocks numbers them, and
+   * every other vertex takes its root's number.
+   */
+  public static int labelComponents(CompactGraph graph, ForkJoinPool pool, BreadCrumbs crumbs)
+  {
+    int numVertices = graph.getNumVertices();
+    int numBlocks = (numVertices + VERTEX_GRAIN - 1) / VERTEX_GRAIN;
+
+    ConcurrentUnionFind sets = new ConcurrentUnionFind(numVertices);
+    int[] firstLabels = new int[numBlocks + 1];
+
+    pool.invoke(new PhaseTask(Phase.MERGE, graph, sets, crumbs, firstLabels, 0, numBlocks));
+    pool.invoke(new PhaseTask(Phase.COUNT, graph, sets, crumbs, firstLabels, 0, numBlocks));
+
+    for (int b = 0; b < numBlocks; ++b)
+      firstLabels[b + 1] += firstLabels[b];
+
+    pool.invoke(new PhaseTask(Phase.NUMBER, graph, sets, crumbs, firstLabels, 0, numBlocks));
+    pool.invoke(new PhaseTask(Phase.LABEL, graph, sets, crumbs, firstLabels, 0, numBlocks));
+
+    return firstLabels[numBlocks];
+  }
+
+  /* ( Classes ) ************************************************************ */
+
+  private enum Phase
+  {
+    MERGE, COUNT, NUMBER, LABEL
+  }
+
+  /*
+   * Runs one phase of labelComponents() over blocks [from, to) of
+   * VERTEX_GRAIN vertices, halving the range down to single blocks.
+   *
+   * MERGE:  union the endpoints of every edge (u, v), v > u.
+   * COUNT:  firstLabels[b + 1] = number of roots in block b.
+   * NUMBER: give the roots of block b the labels after firstLabels[b].
+   * LABEL:  give every other vertex the label of its root.
+   */
+  private static class PhaseTask extends RecursiveAction
+  {
+    private static final long   serialVersionUID = 1L;
+
+    private Phase               _phase;
+    private CompactGraph        _graph;
+    private ConcurrentUnionFind _sets;
+    private BreadCrumbs         _crumbs;
+    private int[]               _firstLabels;
+    private int                 _from;
+    private int                 _to;
+
+    public PhaseTask(Phase phase, CompactGraph graph, ConcurrentUnionFind sets,
+        BreadCrumbs crumbs, int[] firstLabels, int from, int to)
+    {
+      _phase = phase;
+      _graph = graph;
+      _sets = sets;
+      _crumbs = crumbs;
+      _firstLabels = firstLabels;
+      _from = from;
+      _to = to;
+    }
+
+    @Override
+    protected void compute()
+    {
+      if (_to - _from > 1)
+      {
+        int middle = (_from + _to) >>> 1;
+
+        invokeAll(new PhaseTask(_phase, _graph, _sets, _crumbs, _firstLabels, _from, middle),
+            new PhaseTask(_phase, _graph, _sets, _crumbs, _firstLabels, middle, _to));
+
+        return;
+      }
+
+      if (_to == _from)
+        return;
+
+      int block = _from;
+      int first = block * VERTEX_GRAIN;
+      int last = Math.min(first + VERTEX_GRAIN, _graph.getNumVertices());
+
+      switch (_phase)
+      {
+        case MERGE:
+          for (int u = first; u < last; ++u)
+            for (int e = _graph.getEdgeStart(u); e < _graph.getEdgeEnd(u); ++e)
+              if (_graph.getTarget(e) > u)
+                _sets.union(u, _graph.getTarget(e));
+          break;
+
+        case COUNT:
+          for (int v = first; v < last; ++v)
+            if (_sets.isRoot(v))
+              ++_firstLabels[block + 1];
+          break;
+
+        case NUMBER:
+          int label = _firstLabels[block];
+
+          for (int v = first; v < last; ++v)
+            if (_sets.isRoot(v))
+              _crumbs.setConnectedComponent(v, ++label);
+          break;
+
+        default:
+          for (int v = first; v < last; ++v)
+            if (!_sets.isRoot(v))
+              _crumbs.setConnectedComponent(v, _crumbs.getConnectedComponent(_sets.find(v)));
+          break;
+      }
+    }
+  }
+}
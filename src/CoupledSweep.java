@@ -0,0 +1,309 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/*
+ * Sweeps one random graph per sample up through every edge probability,
+ * instead of building a new graph for each. Every pair (u, v) gets a single
+ * uniform threshold t and is an edge at probability p exactly when t < p, so
+ * the graphs of a sample are nested and each step only adds the edges whose
+ * thresholds fall between it and the step before.
+ *
+ * At each step the graph is still G(n, p) with independent uniform weights:
+ * a pair is an edge with probability p, independently of the other pairs, so
+ * every per-step statistic has the same distribution as with a fresh graph.
+ * Only the steps of one sample are now correlated with each other.
+ *
+ * A sample draws G(n, pMax) once with the geometric-skip generator and gives
+ * each edge its threshold uniform on [0, pMax), which is the threshold
+ * conditioned on the edge being there. Components are then tracked with a
+ * UnionFind as the steps add their edges, O(E) per sample in all. With
+ * setMst(true) each step's minimum spanning forest is also found, as the MST
+ * of the last step's forest plus the new edges: no edge the last forest left
+ * out can be in the new one, so each step costs O((n + new edges) log n).
+ */
+public class CoupledSweep
+{
+  private int                 _numVertices;
+  private double[]            _edgeProbabilities;
+  private boolean             _mst;
+
+  private RunningStatistics[] _components;
+  private RunningStatistics[] _mstCosts;
+  private RunningStatistics[] _mstDiameters;
+
+  /* ( Constructors ) ******************************************************* */
+
+  /*
+   * edgeProbabilities must be ascending, as MonteCarloSweep.probabilityRange()
+   * gives them
+   */
+  public CoupledSweep(int numVertices, double[] edgeProbabilities)
+  {
+    _numVertices = numVertices;
+    _edgeProbabilities = edgeProbabilities;
+
+    _components = newStatistics(edgeProbabilities.length);
+    _mstCosts = newStatistics(edgeProbabilities.length);
+    _mstDiameters = newStatistics(edgeProbabilities.length);
+
+    setMst(false);
+  }
+
+  private static RunningStatistics[] newStatistics(int steps)
+  {
+    RunningStatistics[] statistics = new RunningStatistics[steps];
+
+    for (int i = 0; i < steps; ++i)
+      statistics[i] = new RunningStatistics();
+
+    return statistics;
+  }
+
+  /* ( Sweep ) ************************************************************** */
+
+  /*
+   * Sweeps one sample and adds its value at every step to the statistics
+   */
+  public void addSample(SplittableRandom random)
+  {
+    int steps = _edgeProbabilities.length;
+
+    if (steps == 0)
+      return;
+
+    SteppedEdges edges = drawEdges(random);
+    UnionFind unionFind = new UnionFind(_numVertices);
+    SpanningForest forest = isMst() ? new SpanningForest(_numVertices) : null;
+
+    for (int step = 0; step < steps; ++step)
+    {
+      for (int e = edges.getStepStart(step); e < edges.getStepEnd(step); ++e)
+        unionFind.union(edges.getSource(e), edges.getDestination(e));
+
+      _components[step].add(unionFind.getComponents());
+
+      if (isMst())
+        addForestStep(forest, step == 0, edges, step);
+    }
+  }
+
+  /*
+   * One sample's edges, grouped by the step they join at, drawn as
+   * addSample() draws them: the same random state gives the same edges
+   */
+  SteppedEdges drawEdges(SplittableRandom random)
+  {
+    SteppedEdges edges = new SteppedEdges(_edgeProbabilities, random);
+
+    EdgeGenerator.geometricSkip(_numVertices, edges.getMaxProbability(), random, edges);
+    edges.sortBySteps();
+
+    return edges;
+  }
+
+  /*
+   * Replaces the forest with the MST of it plus the step's new edges and
+   * records the mean cost and diameter per tree, as startMstTest() prints
+   * them
+   */
+  private void addForestStep(SpanningForest forest, boolean first, SteppedEdges edges, int step)
+  {
+    CompactGraph.Builder builder = new CompactGraph.Builder(_numVertices);
+
+    if (!first)
+    {
+      for (int v = 0; v < _numVertices; ++v)
+        if (forest.getParent(v) >= 0)
+          builder.addEdge(forest.getParent(v), v, forest.getCost(v));
+    }
+
+    for (int e = edges.getStepStart(step); e < edges.getStepEnd(step); ++e)
+      builder.addEdge(edges.getSource(e), edges.getDestination(e), edges.getWeight(e));
+
+    RandomGraphUtils randomGraphUtils = new RandomGraphUtils(builder.build());
+    randomGraphUtils.setDfsEngine(RandomGraphUtils.DfsEngine.ITERATIVE);
+    randomGraphUtils.setMstEngine(RandomGraphUtils.MstEngine.SPANNING_FOREST);
+    randomGraphUtils.setSpanningForest(forest);
+
+    randomGraphUtils.performDfs();
+    double[] mstResults = randomGraphUtils.findMst();
+
+    double mstTotal = 0;
+
+    for (int i = 0; i < mstResults.length; ++i)
+      mstTotal += mstResults[i];
+
+    int components = randomGraphUtils.getConnectedComponents();
+
+    _mstCosts[step].add(mstTotal / components);
+    _mstDiameters[step].add(randomGraphUtils.getMstDiameters() / components);
+  }
+
+  /* ( Accessors/Mutators ) ************************************************* */
+
+  public boolean isMst()
+  {
+    return _mst;
+  }
+
+  /*
+   * Also find every step's minimum spanning forest. Off, only components are
+   * counted.
+   */
+  public void setMst(boolean mst)
+  {
+    _mst = mst;
+  }
+
+  public double[] getEdgeProbabilities()
+  {
+    return _edgeProbabilities;
+  }
+
+  /*
+   * Number of connected components at each step
+   */
+  public RunningStatistics getComponents(int step)
+  {
+    return _components[step];
+  }
+
+  /*
+   * MST cost per component at each step; empty unless isMst()
+   */
+  public RunningStatistics getMstCosts(int step)
+  {
+    return _mstCosts[step];
+  }
+
+  /*
+   * MST diameter per component at each step; empty unless isMst()
+   */
+  public RunningStatistics getMstDiameters(int step)
+  {
+    return _mstDiameters[step];
+  }
+
+  /* ( Classes ) ************************************************************ */
+
+  /*
+   * The edges of G(n, pMax), each placed at the first step whose probability
+   * exceeds its threshold, then grouped by step with a counting sort
+   */
+  static class SteppedEdges implements EdgeSink
+  {
+    private double[]         _edgeProbabilities;
+    private double           _maxProbability;
+    private SplittableRandom _random;
+
+    private int              _numEdges;
+    private int[]            _sources;
+    private int[]            _destinations;
+    private double[]         _edgeWeights;
+    private int[]            _steps;
+
+    private int[]            _stepStarts;
+
+    public SteppedEdges(double[] edgeProbabilities, SplittableRandom random)
+    {
+      _edgeProbabilities = edgeProbabilities;
+      _maxProbability = Math.max(0.0, Math.min(1.0, edgeProbabilities[edgeProbabilities.length - 1]));
+      _random = random;
+
+      _sources = new int[16];
+      _destinations = new int[16];
+      _edgeWeights = new double[16];
+      _steps = new int[16];
+    }
+
+    public double getMaxProbability()
+    {
+      return _maxProbability;
+    }
+
+    @Override
+    public void addEdge(int u, int v, double weight)
+    {
+      if (_numEdges == _sources.length)
+      {
+        int capacity = _sources.length * 2;
+
+        _sources = Arrays.copyOf(_sources, capacity);
+        _destinations = Arrays.copyOf(_destinations, capacity);
+        _edgeWeights = Arrays.copyOf(_edgeWeights, capacity);
+        _steps = Arrays.copyOf(_steps, capacity);
+      }
+
+      // The first step with threshold < p. pMax is the last probability, so
+      // there always is one.
+      double threshold = _random.nextDouble() * _maxProbability;
+      int step = Arrays.binarySearch(_edgeProbabilities, threshold);
+
+      _sources[_numEdges] = u;
+      _destinations[_numEdges] = v;
+      _edgeWeights[_numEdges] = weight;
+      _steps[_numEdges] = (step >= 0) ? step + 1 : -step - 1;
+      ++_numEdges;
+    }
+
+    /*
+     * Regroups the edges by step, keeping their order within a step
+     */
+    public void sortBySteps()
+    {
+      int steps = _edgeProbabilities.length;
+
+      _stepStarts = new int[steps + 1];
+
+      for (int e = 0; e < _numEdges; ++e)
+        ++_stepStarts[_steps[e] + 1];
+
+      for (int step = 0; step < steps; ++step)
+        _stepStarts[step + 1] += _stepStarts[step];
+
+      int[] next = Arrays.copyOf(_stepStarts, steps);
+      int[] sources = new int[_numEdges];
+      int[] destinations = new int[_numEdges];
+      double[] edgeWeights = new double[_numEdges];
+
+      for (int e = 0; e < _numEdges; ++e)
+      {
+        int slot = next[_steps[e]]++;
+
+        sources[slot] = _sources[e];
+        destinations[slot] = _destinations[e];
+        edgeWeights[slot] = _edgeWeights[e];
+      }
+
+      _sources = sources;
+      _destinations = destinations;
+      _edgeWeights = edgeWeights;
+      _steps = null;
+    }
+
+    public int getStepStart(int step)
+    {
+      return _stepStarts[step];
+    }
+
+    public int getStepEnd(int step)
+    {
+      return _stepStarts[step + 1];
+    }
+
+    public int getSource(int edge)
+    {
+      return _sources[edge];
+    }
+
+    public int getDestination(int edge)
+    {
+      return _destinations[edge];
+    }
+
+    public double getWeight(int edge)
+    {
+      return _edgeWeights[edge];
+    }
+  }
+}
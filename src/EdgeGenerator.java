@@ -0,0 +1,284 @@
+import java.util.SplittableRandom;
+
+/*
+ * Edge generators for G(n, p) random graphs. Generators write into an
+ * EdgeSink so the same stream can feed any graph representation.
+ */
+public class EdgeGenerator
+{
+  private static final int BLOCK_SIZE = 1024;
+
+  public enum Mode
+  {
+    PAIRWISE, GEOMETRIC_SKIP, BULK_PAIRWISE
+  }
+
+  /* ( Constructors ) ******************************************************* */
+
+  private EdgeGenerator()
+  {
+  }
+
+  /* ( Generators ) ********************************************************* */
+
+  public static void generate(Mode mode, int numVertices, double edgeProbability, SplittableRandom random,
+      EdgeSink sink)
+  {
+    generate(mode, numVertices, edgeProbability, random, sink, 0, numVertices);
+  }
+
+  /*
+   * Only the pairs in rows firstRow .. lastRow - 1, as the mode walks them:
+   * row u holds the pairs (u, v), v > u, for the pairwise modes and the pairs
+   * (w, u), w < u, for GEOMETRIC_SKIP. Disjoint row ranges hold disjoint
+   * pairs, so they can be generated independently, each with its own
+   * generator.
+   */
+  public static void generate(Mode mode, int numVertices, double edgeProbability, SplittableRandom random,
+      EdgeSink sink, int firstRow, int lastRow)
+  {
+    checkProbability(edgeProbability);
+
+    switch (mode)
+    {
+      case GEOMETRIC_SKIP:
+        geometricSkip(numVertices, edgeProbability, random, sink, firstRow, lastRow);
+        break;
+      case BULK_PAIRWISE:
+        bulkPairwise(numVertices, edgeProbability, random, sink, firstRow, lastRow);
+        break;
+      default:
+        pairwise(numVertices, edgeProbability, random, sink, firstRow, lastRow);
+        break;
+    }
+  }
+
+  /*
+   * Number of pairs in a row, as generate() splits them
+   */
+  public static long rowPairs(Mode mode, int numVertices, int row)
+  {
+    return (mode == Mode.GEOMETRIC_SKIP) ? row : numVertices - 1 - row;
+  }
+
+  /*
+   * Flips one coin per pair (u, v), u < v, in row order. Draws from the
+   * random generator in the same order as RandomGraph, so a given seed yields
+   * the same graph.
+   */
+  public static void pairwise(int numVertices, double edgeProbability, SplittableRandom random,
+      EdgeSink sink)
+  {
+    checkProbability(edgeProbability);
+    pairwise(numVertices, edgeProbability, random, sink, 0, numVertices);
+  }
+
+  private static void pairwise(int numVertices, double edgeProbability, SplittableRandom random,
+      EdgeSink sink, int firstRow, int lastRow)
+  {
+    for (int u = firstRow; u < lastRow; ++u)
+    {
+      for (int v = u + 1; v < numVertices; ++v)
+      {
+        if (random.nextDouble() < edgeProbability)
+          sink.addEdge(u, v, random.nextDouble());
+      }
+    }
+  }
+
+  /*
+   * Batagelj-Brandes generator. Walks the pairs (v, w), w < v, in row order
+   * and jumps over the pairs without an edge by drawing geometric skip
+   * lengths, so the work is proportional to the number of edges rather than
+   * n^2. Every pair still receives an edge independently with probability p
+   * and a uniform weight, so the graphs follow the same distribution as
+   * pairwise(). Edges are reported as (w, v) with w < v, and each vertex sees
+   * its neighbours in increasing order, as with pairwise().
+   */
+  public static void geometricSkip(int numVertices, double edgeProbability, SplittableRandom random,
+      EdgeSink sink)
+  {
+    checkProbability(edgeProbability);
+    geometricSkip(numVertices, edgeProbability, random, sink, 0, numVertices);
+  }
+
+  private static void geometricSkip(int numVertices, double edgeProbability, SplittableRandom random,
+      EdgeSink sink, int firstRow, int lastRow)
+  {
+    firstRow = Math.max(firstRow, 1);
+
+    if (edgeProbability <= 0.0 || firstRow >= lastRow)
+      return;
+
+    if (edgeProbability >= 1.0)
+    {
+      for (int v = firstRow; v < lastRow; ++v)
+        for (int w = 0; w < v; ++w)
+          sink.addEdge(w, v, random.nextDouble());
+
+      return;
+    }
+
+    double logComplement = Math.log1p(-edgeProbability);
+    long remainingPairs = ((long) lastRow * (lastRow - 1) - (long) firstRow * (firstRow - 1)) / 2;
+
+    long v = firstRow;
+    long w = -1;
+
+    while (v < lastRow)
+    {
+      double skip = Math.floor(Math.log1p(-random.nextDouble()) / logComplement);
+
+      // The skip runs past the last pair, so there are no more edges
+      if (skip >= remainingPairs)
+        return;
+
+      w += 1 + (long) skip;
+      remainingPairs -= 1 + (long) skip;
+
+      while (w >= v && v < lastRow)
+      {
+        w -= v;
+        ++v;
+      }
+
+      if (v < lastRow)
+        sink.addEdge((int) w, (int) v, random.nextDouble());
+    }
+  }
+
+  /*
+   * pairwise() a block of up to BLOCK_SIZE pairs of a row at a time, for
+   * dense graphs where the coin flips dominate. A SplitMix64 generator seeded
+   * from the given one fills the block with 53-bit integers, which are
+   * compared against p scaled by 2^53 rather than turned into doubles: an
+   * integer below the threshold is exactly a nextDouble() below p. The
+   * neighbours that won their flip are packed without a branch, then draw
+   * their weights as one block and go to the sink with addEdges(). The
+   * distribution and the edge order are those of pairwise(), but the graph a
+   * seed gives is not.
+   */
+  public static void bulkPairwise(int numVertices, double edgeProbability, SplittableRandom random,
+      EdgeSink sink)
+  {
+    checkProbability(edgeProbability);
+    bulkPairwise(numVertices, edgeProbability, random, sink, 0, numVertices);
+  }
+
+  private static void bulkPairwise(int numVertices, double edgeProbability, SplittableRandom random,
+      EdgeSink sink, int firstRow, int lastRow)
+  {
+    long threshold = coinThreshold(edgeProbability);
+    SplitMix64 generator = new SplitMix64(random.nextLong());
+
+    long[] coins = new long[BLOCK_SIZE];
+    int[] neighbours = new int[BLOCK_SIZE];
+    double[] weights = new double[BLOCK_SIZE];
+
+    for (int u = firstRow; u < lastRow; ++u)
+    {
+      for (int first = u + 1; first < numVertices; first += BLOCK_SIZE)
+      {
+        int count = Math.min(BLOCK_SIZE, numVertices - first);
+        int survivors = 0;
+
+        generator.fillBits(coins, count);
+
+        // Both sides are below 2^53, so the difference is negative exactly
+        // when the coin is under the threshold
+        for (int i = 0; i < count; ++i)
+        {
+          neighbours[survivors] = first + i;
+          survivors += (int) ((coins[i] - threshold) >>> 63);
+        }
+
+        generator.fillDoubles(weights, survivors);
+        sink.addEdges(u, neighbours, weights, survivors);
+      }
+    }
+  }
+
+  /*
+   * Every mode must see the same p; NaN would otherwise fail every coin flip
+   * in the pairwise modes but add every pair in GEOMETRIC_SKIP
+   */
+  private static void checkProbability(double edgeProbability)
+  {
+    if (!(edgeProbability >= 0.0 && edgeProbability <= 1.0))
+      throw new IllegalArgumentException("edge probability " + edgeProbability + " is not in [0, 1]");
+  }
+
+  /*
+   * The least 53-bit integer that is not a winning coin: ceil(p * 2^53),
+   * clamped to [0, 2^53]. Scaling by a power of two is exact.
+   */
+  private static long coinThreshold(double edgeProbability)
+  {
+    if (!(edgeProbability > 0.0))
+      return 0L;
+
+    if (edgeProbability >= 1.0)
+      return 1L << 53;
+
+    return (long) Math.ceil(edgeProbability * 0x1p53);
+  }
+
+  /* ( Classes ) ************************************************************ */
+
+  /*
+   * Steele, Lea and Flood's SplitMix64, the generator behind
+   * SplittableRandom, unrolled into block fills so its state stays in a
+   * register and nothing is synchronized.
+   */
+  private static class SplitMix64
+  {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private long              _state;
+
+    public SplitMix64(long seed)
+    {
+      _state = seed;
+    }
+
+    /*
+     * Fills block[0 .. count - 1] with uniform 53-bit integers
+     */
+    public void fillBits(long[] block, int count)
+    {
+      long state = _state;
+
+      for (int i = 0; i < count; ++i)
+      {
+        state += GOLDEN_GAMMA;
+        block[i] = mix64(state) >>> 11;
+      }
+
+      _state = state;
+    }
+
+    /*
+     * Fills block[0 .. count - 1] with uniform doubles in [0, 1)
+     */
+    public void fillDoubles(double[] block, int count)
+    {
+      long state = _state;
+
+      for (int i = 0; i < count; ++i)
+      {
+        state += GOLDEN_GAMMA;
+        block[i] = (mix64(state) >>> 11) * 0x1p-53;
+      }
+
+      _state = state;
+    }
+
+    private static long mix64(long z)
+    {
+      z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+      z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+
+      return z ^ (z >>> 31);
+    }
+  }
+}
@@ -0,0 +1,18 @@
+/*
+ * Receives the undirected edges (u, v) of a graph as a generator produces
+ * them. Each edge is reported once.
+ */
+public interface EdgeSink
+{
+  public void addEdge(int u, int v, double weight);
+
+  /*
+   * The edges (u, neighbours[i]) with weights[i] for i < count, in that
+   * order. Sinks that store edges in arrays can take a block at once.
+   */
+  public default void addEdges(int u, int[] neighbours, double[] weights, int count)
+  {
+    for (int i = 0; i < count; ++i)
+      addEdge(u, neighbours[i], weights[i]);
+  }
+}
@@ -1,3 +1,6 @@
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
 public class GraphAnalyzer
 {
 
@@ -33,11 +36,13 @@ public class GraphAnalyzer
       for (int graphSizeIndex = 0; graphSizeIndex < graphVertexCounts.length; ++graphSizeIndex)
       {
     	  System.out.println("========= " + graphVertexCounts[graphSizeIndex] + " Nodes =========");
+    	  SpanningForest spanningForest = new SpanningForest(graphVertexCounts[graphSizeIndex]);
     	  for (double currentProbability = startingProbability; currentProbability <= endingProbability; currentProbability += probabilityIncrement)
           {
     		  RandomGraph randomGraph = new RandomGraph(graphVertexCounts[graphSizeIndex],
-    	              currentProbability);
+    	              Math.min(currentProbability, 1.0));  // the running sum overshoots 1 by an ulp
     		  RandomGraphUtils randomGraphUtils = new RandomGraphUtils(randomGraph);
+    		  randomGraphUtils.setSpanningForest(spanningForest);
     		    
     		  randomGraphUtils.performDfs();
     		  double[] mstResults = randomGraphUtils.findMst();
@@ -69,25 +74,13 @@ public class GraphAnalyzer
     double variance;
     double standardDeviation;
 
-    System.out.print("Connected component analysis for undirected graphs of sizes ");
-
-    for (int i = 0; i < graphVertexCounts.length; ++i)
-      System.out.print(graphVertexCounts[i] + ", ");
-
-    System.out.println();
-
-    System.out
-        .format(
-            "with edge probabilities ranging from %.2f to %.2f in increments of %.2f on a sample size of %d\n",
-            startingProbability, endingProbability, probabilityIncrement, sampleSize);
-    System.out.println();
+    printFullTestHeader(graphVertexCounts, startingProbability, endingProbability,
+        probabilityIncrement, sampleSize);
 
     // Iterate through each graph size
     for (int graphSizeIndex = 0; graphSizeIndex < graphVertexCounts.length; ++graphSizeIndex)
     {
-      System.out.println("Graph: " + graphVertexCounts[graphSizeIndex] + " vertices");
-      System.out
-          .println("--------------------------------------------------------------------------------");
+      printFullTestSizeHeader(graphVertexCounts[graphSizeIndex]);
 
       for (double currentProbability = startingProbability; currentProbability <= endingProbability; currentProbability += probabilityIncrement)
       {
@@ -99,7 +92,7 @@ public class GraphAnalyzer
         {
           // Create graph
           RandomGraph randomGraph = new RandomGraph(graphVertexCounts[graphSizeIndex],
-              currentProbability);
+              Math.min(currentProbability, 1.0));  // the running sum overshoots 1 by an ulp
 
           RandomGraphUtils randomGraphUtils = new RandomGraphUtils(randomGraph);
 
@@ -120,8 +113,7 @@ public class GraphAnalyzer
         standardDeviation = Math.sqrt(variance / (double) sampleSize);
 
         // Display results
-        System.out.format("G(%d, %.2f), ��(%.3f), ��(%.3f)\n",
-            graphVertexCounts[graphSizeIndex], currentProbability, mean,
+        printFullTestResult(graphVertexCounts[graphSizeIndex], currentProbability, mean,
             standardDeviation);
       }
 
@@ -129,4 +121,242 @@ public class GraphAnalyzer
     }
   }
 
+  public static void startParallelFullTest()
+  {
+    startParallelFullTest(new SplittableRandom().nextLong());
+  }
+
+  /*
+   * Same sweep and output as startFullTest(), with the samples spread over a
+   * ForkJoinPool using every available core. The same seed always prints the
+   * same results.
+   */
+  public static void startParallelFullTest(long seed)
+  {
+    int[] graphVertexCounts = { 20, 50, 500, 1000 };
+
+    double startingProbability = 0.0;
+    double endingProbability = 1.00004;
+    double probabilityIncrement = 0.02;
+
+    int sampleSize = 100;
+
+    double[] edgeProbabilities = MonteCarloSweep.probabilityRange(startingProbability,
+        endingProbability, probabilityIncrement);
+
+    ForkJoinPool pool = new ForkJoinPool();
+
+    RunningStatistics[][] results = new MonteCarloSweep(graphVertexCounts, edgeProbabilities,
+        sampleSize, seed, pool).run();
+
+    pool.shutdown();
+
+    printFullTestHeader(graphVertexCounts, startingProbability, endingProbability,
+        probabilityIncrement, sampleSize);
+
+    for (int graphSizeIndex = 0; graphSizeIndex < graphVertexCounts.length; ++graphSizeIndex)
+    {
+      printFullTestSizeHeader(graphVertexCounts[graphSizeIndex]);
+
+      for (int p = 0; p < edgeProbabilities.length; ++p)
+      {
+        RunningStatistics statistics = results[graphSizeIndex][p];
+
+        printFullTestResult(graphVertexCounts[graphSizeIndex], edgeProbabilities[p],
+            statistics.getMean(), statistics.getStandardDeviation());
+      }
+
+      System.out.println();
+    }
+  }
+
+  public static void startCoupledFullTest()
+  {
+    startCoupledFullTest(new SplittableRandom().nextLong());
+  }
+
+  /*
+   * Same sweep and output as startFullTest(), but each sample grows one graph
+   * through all the probabilities (see CoupledSweep): O(n^2) work per sample
+   * rather than O(n^2) per probability. Each line has the same expected mean
+   * and deviation as startFullTest() prints.
+   */
+  public static void startCoupledFullTest(long seed)
+  {
+    int[] graphVertexCounts = { 20, 50, 500, 1000 };
+
+    double startingProbability = 0.0;
+    double endingProbability = 1.00004;
+    double probabilityIncrement = 0.02;
+
+    int sampleSize = 100;
+
+    double[] edgeProbabilities = MonteCarloSweep.probabilityRange(startingProbability,
+        endingProbability, probabilityIncrement);
+
+    SplittableRandom random = new SplittableRandom(seed);
+
+    printFullTestHeader(graphVertexCounts, startingProbability, endingProbability,
+        probabilityIncrement, sampleSize);
+
+    for (int graphSizeIndex = 0; graphSizeIndex < graphVertexCounts.length; ++graphSizeIndex)
+    {
+      CoupledSweep sweep = new CoupledSweep(graphVertexCounts[graphSizeIndex], edgeProbabilities);
+
+      for (int sample = 0; sample < sampleSize; ++sample)
+        sweep.addSample(random.split());
+
+      printFullTestSizeHeader(graphVertexCounts[graphSizeIndex]);
+
+      for (int p = 0; p < edgeProbabilities.length; ++p)
+      {
+        printFullTestResult(graphVertexCounts[graphSizeIndex], edgeProbabilities[p],
+            sweep.getComponents(p).getMean(), sweep.getComponents(p).getStandardDeviation());
+      }
+
+      System.out.println();
+    }
+  }
+
+  public static void startCoupledMstTest()
+  {
+    startCoupledMstTest(new SplittableRandom().nextLong());
+  }
+
+  /*
+   * The columns of startMstTest(), MST cost and diameter per component, from
+   * coupled sweeps: each step's forest is updated from the last one's plus
+   * the new edges, and the values are averaged over the samples. The same
+   * seed always prints the same table.
+   */
+  public static void startCoupledMstTest(long seed)
+  {
+    int[] graphVertexCounts = { 20, 100, 500, 1000 };
+
+    double startingProbability = 0.0;
+    double endingProbability = 1.00004;
+    double probabilityIncrement = 0.02;
+
+    int sampleSize = 10;
+
+    double[] edgeProbabilities = MonteCarloSweep.probabilityRange(startingProbability,
+        endingProbability, probabilityIncrement);
+
+    SplittableRandom random = new SplittableRandom(seed);
+
+    System.out.print("Coupled MST analysis for undirected graphs of sizes ");
+
+    for (int i = 0; i < graphVertexCounts.length; ++i)
+      System.out.print(graphVertexCounts[i] + ", ");
+
+    System.out.println();
+    System.out.format(
+        "with edge probabilities ranging from %.2f to %.2f in increments of %.2f on a sample size of %d\n",
+        startingProbability, endingProbability, probabilityIncrement, sampleSize);
+
+    for (int graphSizeIndex = 0; graphSizeIndex < graphVertexCounts.length; ++graphSizeIndex)
+    {
+      CoupledSweep sweep = new CoupledSweep(graphVertexCounts[graphSizeIndex], edgeProbabilities);
+      sweep.setMst(true);
+
+      for (int sample = 0; sample < sampleSize; ++sample)
+        sweep.addSample(random.split());
+
+      System.out.println("========= " + graphVertexCounts[graphSizeIndex] + " Nodes =========");
+
+      for (int p = 0; p < edgeProbabilities.length; ++p)
+        System.out.println("   " + sweep.getMstCosts(p).getMean() + "      "
+            + sweep.getMstDiameters(p).getMean());
+    }
+  }
+
+  /*
+   * Component counts for very large sparse graphs. Graphs are streamed into a
+   * union-find and never stored, so memory stays O(n). Edge probabilities are
+   * given as average degrees c, p = c / (n - 1), around the giant-component
+   * threshold at c = 1.
+   */
+  public static void startStreamingComponentTest()
+  {
+    int[] graphVertexCounts = { 100000, 1000000, 10000000 };
+
+    double startingDegree = 0.0;
+    double endingDegree = 3.00004;
+    double degreeIncrement = 0.25;
+
+    int sampleSize = 10;
+
+    double[] averageDegrees = MonteCarloSweep.probabilityRange(startingDegree, endingDegree,
+        degreeIncrement);
+
+    ForkJoinPool pool = new ForkJoinPool();
+    SplittableRandom seeds = new SplittableRandom();
+
+    System.out.format(
+        "Streaming connected component analysis, average degree %.2f to %.2f in increments of %.2f on a sample size of %d\n",
+        startingDegree, endingDegree, degreeIncrement, sampleSize);
+    System.out.println();
+
+    for (int graphSizeIndex = 0; graphSizeIndex < graphVertexCounts.length; ++graphSizeIndex)
+    {
+      int numVertices = graphVertexCounts[graphSizeIndex];
+      double[] edgeProbabilities = new double[averageDegrees.length];
+
+      for (int i = 0; i < averageDegrees.length; ++i)
+        edgeProbabilities[i] = averageDegrees[i] / (numVertices - 1);
+
+      MonteCarloSweep sweep = new MonteCarloSweep(new int[] { numVertices }, edgeProbabilities,
+          sampleSize, seeds.nextLong(), pool);
+      sweep.setStreaming(true);
+
+      RunningStatistics[][] results = sweep.run();
+
+      printFullTestSizeHeader(numVertices);
+
+      for (int i = 0; i < averageDegrees.length; ++i)
+      {
+        System.out.format("G(%d, %.3e), c = %.2f, ��(%.3f), ��(%.3f)\n", numVertices,
+            edgeProbabilities[i], averageDegrees[i], results[0][i].getMean(),
+            results[0][i].getStandardDeviation());
+      }
+
+      System.out.println();
+    }
+
+    pool.shutdown();
+  }
+
+  /* ( Output ) ************************************************************* */
+
+  private static void printFullTestHeader(int[] graphVertexCounts, double startingProbability,
+      double endingProbability, double probabilityIncrement, int sampleSize)
+  {
+    System.out.print("Connected component analysis for undirected graphs of sizes ");
+
+    for (int i = 0; i < graphVertexCounts.length; ++i)
+      System.out.print(graphVertexCounts[i] + ", ");
+
+    System.out.println();
+
+    System.out
+        .format(
+            "with edge probabilities ranging from %.2f to %.2f in increments of %.2f on a sample size of %d\n",
+            startingProbability, endingProbability, probabilityIncrement, sampleSize);
+    System.out.println();
+  }
+
+  private static void printFullTestSizeHeader(int numVertices)
+  {
+    System.out.println("Graph: " + numVertices + " vertices");
+    System.out
+        .println("--------------------------------------------------------------------------------");
+  }
+
+  private static void printFullTestResult(int numVertices, double edgeProbability, double mean,
+      double standardDeviation)
+  {
+    System.out.format("G(%d, %.2f), ��(%.3f), ��(%.3f)\n", numVertices, edgeProbability, mean,
+        standardDeviation);
+  }
+
 }
@@ -0,0 +1,377 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+/*
+ * Saves CompactGraphs to disk and loads them back, so a failing sample can be
+ * reproduced or a workload moved to another machine.
+ *
+ * The binary format is the CSR arrays themselves, little-endian, after a
+ * 16-byte header:
+ *
+ *   int    magic "CSRG", version, vertex count n, arc count m (2 per edge)
+ *   int    offsets[n + 1]
+ *   int    targets[m]
+ *   double weights[m]
+ *
+ * read() memory-maps the file and bulk-copies each section into its array, so
+ * loading is linear in the file size with no per-edge work beyond a range
+ * check. Adjacency order survives the round trip, and with it DFS and Prim
+ * visiting order.
+ *
+ * Edge lists are text, one "u v [weight]" per line, for graphs from
+ * elsewhere.
+ */
+public class GraphFile
+{
+  private static final int MAGIC = 0x47525343; // "CSRG" read little-endian
+  private static final int VERSION = 1;
+  private static final int HEADER_BYTES = 16;
+  private static final int MAX_REGION = 1 << 30; // bytes mapped at a time
+  private static final int WRITE_BUFFER = 1 << 16;
+
+  private static final double DEFAULT_WEIGHT = 1.0; // for edge-list lines without one
+  private static final Pattern FIELD_SEPARATOR = Pattern.compile("[\\s,]+");
+
+  /* ( Constructors ) ******************************************************* */
+
+  private GraphFile()
+  {
+  }
+
+  /* ( Binary Format ) ****************************************************** */
+
+  public static void write(CompactGraph graph, Path path) throws IOException
+  {
+    int numVertices = graph.getNumVertices();
+    int numArcs = graph.getEdgeStart(numVertices);
+
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))
+    {
+      ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER).order(ByteOrder.LITTLE_ENDIAN);
+
+      buffer.putInt(MAGIC).putInt(VERSION).putInt(numVertices).putInt(numArcs);
+
+      for (int v = 0; v <= numVertices; ++v)
+        putInt(channel, buffer, graph.getEdgeStart(v));
+
+      for (int e = 0; e < numArcs; ++e)
+        putInt(channel, buffer, graph.getTarget(e));
+
+      for (int e = 0; e < numArcs; ++e)
+      {
+        if (buffer.remaining() < 8)
+          flush(channel, buffer);
+
+        buffer.putDouble(graph.getWeight(e));
+      }
+
+      flush(channel, buffer);
+    }
+  }
+
+  /*
+   * Maps a file written by write(). Throws IOException if the header, the
+   * length or the offsets and targets are not a well-formed graph; the two
+   * copies of each edge are trusted to agree.
+   */
+  public static CompactGraph read(Path path) throws IOException
+  {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+    {
+      long length = channel.size();
+
+      if (length < HEADER_BYTES)
+        throw new IOException(path + ": too short for a graph file");
+
+      ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES)
+          .order(ByteOrder.LITTLE_ENDIAN);
+
+      if (header.getInt() != MAGIC)
+        throw new IOException(path + ": not a graph file");
+
+      int version = header.getInt();
+
+      if (version != VERSION)
+        throw new IOException(path + ": unsupported graph file version " + version);
+
+      int numVertices = header.getInt();
+      int numArcs = header.getInt();
+
+      if (numVertices < 0 || numArcs < 0
+          || length != HEADER_BYTES + 4L * (numVertices + 1) + 12L * numArcs)
+        throw new IOException(path + ": length does not match " + numVertices + " vertices and "
+            + numArcs + " arcs");
+
+      int[] offsets = new int[numVertices + 1];
+      int[] targets = new int[numArcs];
+      double[] weights = new double[numArcs];
+
+      long position = HEADER_BYTES;
+
+      position = readInts(channel, position, offsets);
+      position = readInts(channel, position, targets);
+      readDoubles(channel, position, weights);
+
+      if (offsets[0] != 0 || offsets[numVertices] != numArcs)
+        throw new IOException(path + ": offsets do not span the arcs");
+
+      for (int v = 0; v < numVertices; ++v)
+        if (offsets[v] > offsets[v + 1])
+          throw new IOException(path + ": offsets of vertex " + v + " decrease");
+
+      for (int e = 0; e < numArcs; ++e)
+        if (targets[e] < 0 || targets[e] >= numVertices)
+          throw new IOException(path + ": arc " + e + " leads to missing vertex " + targets[e]);
+
+      return new CompactGraph(numVertices, offsets, targets, weights);
+    }
+  }
+
+  /* ( Edge Lists ) ********************************************************* */
+
+  /*
+   * Writes every edge once, as "u v weight" with u < v, after a
+   * "# vertices n" line that keeps isolated vertices. Weights are printed in
+   * full, so reading the file back gives the same graph, though each vertex
+   * then lists its edges in order of neighbour.
+   */
+  public static void writeEdgeList(CompactGraph graph, Path path) throws IOException
+  {
+    try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8))
+    {
+      writer.write("# vertices " + graph.getNumVertices());
+      writer.newLine();
+
+      for (int u = 0; u < graph.getNumVertices(); ++u)
+      {
+        for (int e = graph.getEdgeStart(u); e < graph.getEdgeEnd(u); ++e)
+        {
+          if (graph.getTarget(e) > u)
+          {
+            writer.write(u + " " + graph.getTarget(e) + " " + graph.getWeight(e));
+            writer.newLine();
+          }
+        }
+      }
+    }
+  }
+
+  /*
+   * Reads "u v" or "u v weight" lines, separated by spaces, tabs or commas.
+   * Lines starting with '#' or '%' are comments, except "# vertices n", which
+   * sets the least vertex count; otherwise it is one more than the largest
+   * label seen. Edges without a weight get 1.0. Throws IOException naming
+   * the line of a loop, a weight that is not a finite number, or an edge
+   * that repeats an earlier one in either direction.
+   */
+  public static CompactGraph readEdgeList(Path path) throws IOException
+  {
+    int numVertices = 0;
+    int numEdges = 0;
+
+    int[] sources = new int[16];
+    int[] destinations = new int[16];
+    double[] weights = new double[16];
+    int[] lineNumbers = new int[16];
+
+    try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8))
+    {
+      String line;
+      int lineNumber = 0;
+
+      while ((line = reader.readLine()) != null)
+      {
+        ++lineNumber;
+        line = line.trim();
+
+        if (line.isEmpty())
+          continue;
+
+        String[] fields = FIELD_SEPARATOR.split(line);
+
+        if (line.charAt(0) == '#' || line.charAt(0) == '%')
+        {
+          if (fields.length == 3 && fields[1].equals("vertices"))
+            numVertices = Math.max(numVertices, parseLabel(path, lineNumber, fields[2]));
+
+          continue;
+        }
+
+        if (fields.length < 2 || fields.length > 3)
+          throw new IOException(path + ":" + lineNumber + ": expected \"u v [weight]\": " + line);
+
+        int u = parseLabel(path, lineNumber, fields[0]);
+        int v = parseLabel(path, lineNumber, fields[1]);
+
+        if (u == v)
+          throw new IOException(path + ":" + lineNumber + ": loop at vertex " + u);
+
+        if (numEdges == sources.length)
+        {
+          sources = Arrays.copyOf(sources, 2 * numEdges);
+          destinations = Arrays.copyOf(destinations, 2 * numEdges);
+          weights = Arrays.copyOf(weights, 2 * numEdges);
+          lineNumbers = Arrays.copyOf(lineNumbers, 2 * numEdges);
+        }
+
+        sources[numEdges] = u;
+        destinations[numEdges] = v;
+        weights[numEdges] = (fields.length == 3) ? parseWeight(path, lineNumber, fields[2])
+            : DEFAULT_WEIGHT;
+        lineNumbers[numEdges] = lineNumber;
+        ++numEdges;
+
+        numVertices = Math.max(numVertices, Math.max(u, v) + 1);
+      }
+    }
+
+    checkRepeats(path, sources, destinations, lineNumbers, numEdges);
+
+    CompactGraph.Builder builder = new CompactGraph.Builder(numVertices);
+
+    for (int e = 0; e < numEdges; ++e)
+      builder.addEdge(sources[e], destinations[e], weights[e]);
+
+    return builder.build();
+  }
+
+  /* ( Helpers ) ************************************************************ */
+
+  /*
+   * Sorts each edge's endpoint pair, smaller first, so that a repeat sits
+   * next to the edge it repeats. The slow scan for line numbers only runs
+   * once one is found.
+   */
+  private static void checkRepeats(Path path, int[] sources, int[] destinations, int[] lineNumbers,
+      int numEdges) throws IOException
+  {
+    long[] keys = new long[numEdges];
+
+    for (int e = 0; e < numEdges; ++e)
+      keys[e] = pairKey(sources[e], destinations[e]);
+
+    long[] sorted = keys.clone();
+    Arrays.sort(sorted);
+
+    for (int i = 1; i < numEdges; ++i)
+    {
+      if (sorted[i] != sorted[i - 1])
+        continue;
+
+      int first = -1;
+
+      for (int e = 0; e < numEdges; ++e)
+      {
+        if (keys[e] != sorted[i])
+          continue;
+
+        if (first >= 0)
+          throw new IOException(path + ":" + lineNumbers[e] + ": edge " + sources[e] + " "
+              + destinations[e] + " repeats line " + lineNumbers[first]);
+
+        first = e;
+      }
+    }
+  }
+
+  private static long pairKey(int u, int v)
+  {
+    return ((long) Math.min(u, v) << 32) | Math.max(u, v);
+  }
+
+  private static long readInts(FileChannel channel, long position, int[] into) throws IOException
+  {
+    for (int done = 0; done < into.length;)
+    {
+      int count = Math.min(into.length - done, MAX_REGION / 4);
+
+      channel.map(FileChannel.MapMode.READ_ONLY, position, 4L * count)
+          .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(into, done, count);
+
+      done += count;
+      position += 4L * count;
+    }
+
+    return position;
+  }
+
+  private static long readDoubles(FileChannel channel, long position, double[] into)
+      throws IOException
+  {
+    for (int done = 0; done < into.length;)
+    {
+      int count = Math.min(into.length - done, MAX_REGION / 8);
+
+      channel.map(FileChannel.MapMode.READ_ONLY, position, 8L * count)
+          .order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().get(into, done, count);
+
+      done += count;
+      position += 8L * count;
+    }
+
+    return position;
+  }
+
+  private static void putInt(FileChannel channel, ByteBuffer buffer, int value) throws IOException
+  {
+    if (buffer.remaining() < 4)
+      flush(channel, buffer);
+
+    buffer.putInt(value);
+  }
+
+  private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException
+  {
+    buffer.flip();
+
+    while (buffer.hasRemaining())
+      channel.write(buffer);
+
+    buffer.clear();
+  }
+
+  private static int parseLabel(Path path, int lineNumber, String field) throws IOException
+  {
+    try
+    {
+      int label = Integer.parseInt(field);
+
+      if (label >= 0)
+        return label;
+    }
+    catch (NumberFormatException e)
+    {
+      // Reported below
+    }
+
+    throw new IOException(path + ":" + lineNumber + ": not a vertex label: " + field);
+  }
+
+  private static double parseWeight(Path path, int lineNumber, String field) throws IOException
+  {
+    try
+    {
+      double weight = Double.parseDouble(field);
+
+      if (Double.isFinite(weight))
+        return weight;
+    }
+    catch (NumberFormatException e)
+    {
+      throw new IOException(path + ":" + lineNumber + ": not a weight: " + field, e);
+    }
+
+    throw new IOException(path + ":" + lineNumber + ": not a finite weight: " + field);
+  }
+}
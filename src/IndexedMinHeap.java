@@ -0,0 +1,130 @@
+import java.util.Arrays;
+
+/*
+ * Binary min-heap over the integers 0 .. capacity - 1, keyed by a double
+ * priority. Each element knows its heap position, so its priority can be
+ * lowered in O(log n).
+ */
+public class IndexedMinHeap
+{
+  private int      _size;
+
+  private int[]    _heap;
+  private int[]    _positions;
+  private double[] _priorities;
+
+  /* ( Constructors ) ******************************************************* */
+
+  public IndexedMinHeap(int capacity)
+  {
+    _size = 0;
+
+    _heap = new int[capacity];
+    _positions = new int[capacity];
+    _priorities = new double[capacity];
+
+    Arrays.fill(_positions, -1);
+  }
+
+  /* ( Operations ) ********************************************************* */
+
+  public boolean isEmpty()
+  {
+    return _size == 0;
+  }
+
+  public boolean contains(int element)
+  {
+    return _positions[element] >= 0;
+  }
+
+  public double getPriority(int element)
+  {
+    return _priorities[element];
+  }
+
+  public void insert(int element, double priority)
+  {
+    _priorities[element] = priority;
+    _heap[_size] = element;
+    _positions[element] = _size;
+    ++_size;
+
+    siftUp(_size - 1);
+  }
+
+  public void decreasePriority(int element, double priority)
+  {
+    _priorities[element] = priority;
+
+    siftUp(_positions[element]);
+  }
+
+  public int removeMin()
+  {
+    int min = _heap[0];
+
+    --_size;
+    _positions[min] = -1;
+
+    if (_size > 0)
+    {
+      _heap[0] = _heap[_size];
+      _positions[_heap[0]] = 0;
+
+      siftDown(0);
+    }
+
+    return min;
+  }
+
+  /* ( Private Helpers ) **************************************************** */
+
+  private void siftUp(int position)
+  {
+    int element = _heap[position];
+    double priority = _priorities[element];
+
+    while (position > 0)
+    {
+      int parent = (position - 1) / 2;
+
+      if (_priorities[_heap[parent]] <= priority)
+        break;
+
+      _heap[position] = _heap[parent];
+      _positions[_heap[position]] = position;
+      position = parent;
+    }
+
+    _heap[position] = element;
+    _positions[element] = position;
+  }
+
+  private void siftDown(int position)
+  {
+    int element = _heap[position];
+    double priority = _priorities[element];
+
+    while (true)
+    {
+      int child = 2 * position + 1;
+
+      if (child >= _size)
+        break;
+
+      if (child + 1 < _size && _priorities[_heap[child + 1]] < _priorities[_heap[child]])
+        ++child;
+
+      if (priority <= _priorities[_heap[child]])
+        break;
+
+      _heap[position] = _heap[child];
+      _positions[_heap[position]] = position;
+      position = child;
+    }
+
+    _heap[position] = element;
+    _positions[element] = position;
+  }
+}
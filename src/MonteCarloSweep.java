@@ -0,0 +1,181 @@
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/*
+ * Runs the connected-component sweep of GraphAnalyzer.startFullTest() on a
+ * ForkJoinPool. Each (n, p) cell is a task that splits its samples across
+ * the workers, and the component counts are folded into RunningStatistics.
+ *
+ * Every sample's seed is drawn up front from the sweep seed, and samples are
+ * combined along a fixed split tree, so a given seed gives bit-identical
+ * results whatever the number of threads.
+ *
+ * In streaming mode a sample never builds the graph: the generator feeds its
+ * edges straight into a UnionFind, so memory is O(n) per worker and the
+ * counts are the ones a DFS over the same graph would give.
+ */
+public class MonteCarloSweep
+{
+  private static final int SAMPLES_PER_TASK = 4;
+
+  private int[]            _graphVertexCounts;
+  private double[]         _edgeProbabilities;
+  private int              _sampleSize;
+  private long             _seed;
+  private boolean          _streaming;
+
+  private ForkJoinPool     _pool;
+
+  /* ( Constructors ) ******************************************************* */
+
+  public MonteCarloSweep(int[] graphVertexCounts, double[] edgeProbabilities, int sampleSize,
+      long seed, ForkJoinPool pool)
+  {
+    _graphVertexCounts = graphVertexCounts;
+    _edgeProbabilities = edgeProbabilities;
+    _sampleSize = sampleSize;
+    _seed = seed;
+    _pool = pool;
+
+    setStreaming(false);
+  }
+
+  /* ( Sweep ) ************************************************************** */
+
+  /*
+   * Returns the component-count statistics indexed by [size][probability].
+   * All cells are queued at once; results are collected in sweep order.
+   */
+  public RunningStatistics[][] run()
+  {
+    SampleTask[][] tasks = new SampleTask[_graphVertexCounts.length][_edgeProbabilities.length];
+
+    SplittableRandom sweepRandom = new SplittableRandom(_seed);
+
+    for (int s = 0; s < _graphVertexCounts.length; ++s)
+    {
+      for (int p = 0; p < _edgeProbabilities.length; ++p)
+      {
+        SplittableRandom cellRandom = sweepRandom.split();
+        long[] sampleSeeds = new long[_sampleSize];
+
+        for (int sample = 0; sample < _sampleSize; ++sample)
+          sampleSeeds[sample] = cellRandom.nextLong();
+
+        tasks[s][p] = new SampleTask(_graphVertexCounts[s], _edgeProbabilities[p], sampleSeeds,
+            isStreaming(), 0, _sampleSize);
+        _pool.execute(tasks[s][p]);
+      }
+    }
+
+    RunningStatistics[][] results = new RunningStatistics[_graphVertexCounts.length][_edgeProbabilities.length];
+
+    for (int s = 0; s < _graphVertexCounts.length; ++s)
+      for (int p = 0; p < _edgeProbabilities.length; ++p)
+        results[s][p] = tasks[s][p].join();
+
+    return results;
+  }
+
+  /*
+   * The probabilities GraphAnalyzer steps through. Each is start + i *
+   * increment rather than a running sum, so a range meant to end at 1 ends
+   * at exactly 1 and not one rounding error past it.
+   */
+  public static double[] probabilityRange(double startingProbability, double endingProbability,
+      double probabilityIncrement)
+  {
+    int steps = 0;
+
+    while (startingProbability + steps * probabilityIncrement <= endingProbability)
+      ++steps;
+
+    double[] probabilities = new double[steps];
+
+    for (int i = 0; i < steps; ++i)
+      probabilities[i] = startingProbability + i * probabilityIncrement;
+
+    return probabilities;
+  }
+
+  /* ( Accessors/Mutators ) ************************************************* */
+
+  public boolean isStreaming()
+  {
+    return _streaming;
+  }
+
+  public void setStreaming(boolean streaming)
+  {
+    _streaming = streaming;
+  }
+
+  /* ( Classes ) ************************************************************ */
+
+  private static class SampleTask extends RecursiveTask<RunningStatistics>
+  {
+    private static final long serialVersionUID = 1L;
+
+    private int               _numVertices;
+    private double            _edgeProbability;
+    private long[]            _sampleSeeds;
+    private boolean           _streaming;
+    private int               _firstSample;
+    private int               _lastSample;
+
+    public SampleTask(int numVertices, double edgeProbability, long[] sampleSeeds,
+        boolean streaming, int firstSample, int lastSample)
+    {
+      _numVertices = numVertices;
+      _edgeProbability = edgeProbability;
+      _sampleSeeds = sampleSeeds;
+      _streaming = streaming;
+      _firstSample = firstSample;
+      _lastSample = lastSample;
+    }
+
+    @Override
+    protected RunningStatistics compute()
+    {
+      if (_lastSample - _firstSample > SAMPLES_PER_TASK)
+      {
+        int middle = (_firstSample + _lastSample) >>> 1;
+
+        SampleTask left = new SampleTask(_numVertices, _edgeProbability, _sampleSeeds,
+            _streaming, _firstSample, middle);
+        SampleTask right = new SampleTask(_numVertices, _edgeProbability, _sampleSeeds,
+            _streaming, middle, _lastSample);
+
+        left.fork();
+        RunningStatistics rightStatistics = right.compute();
+
+        return left.join().combine(rightStatistics);
+      }
+
+      RunningStatistics statistics = new RunningStatistics();
+
+      for (int sample = _firstSample; sample < _lastSample; ++sample)
+      {
+        SplittableRandom random = new SplittableRandom(_sampleSeeds[sample]);
+
+        statistics.add(_streaming ? UnionFind.countComponents(_numVertices, _edgeProbability,
+            EdgeGenerator.Mode.GEOMETRIC_SKIP, random) : countComponents(random));
+      }
+
+      return statistics;
+    }
+
+    private int countComponents(SplittableRandom random)
+    {
+      CompactGraph graph = new CompactGraph(_numVertices, _edgeProbability,
+          EdgeGenerator.Mode.GEOMETRIC_SKIP, random);
+
+      RandomGraphUtils randomGraphUtils = new RandomGraphUtils(graph);
+      randomGraphUtils.setDfsEngine(RandomGraphUtils.DfsEngine.ITERATIVE);
+      randomGraphUtils.performDfs();
+
+      return randomGraphUtils.getConnectedComponents();
+    }
+  }
+}
@@ -0,0 +1,285 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/*
+ * Builds a G(n, p) CompactGraph on a ForkJoinPool. The rows of the pair
+ * space are cut into blocks holding about the same number of pairs, and each
+ * block is generated by its own task, from its own split() of the given
+ * generator, into a local edge buffer that also counts its vertices' degrees.
+ *
+ * The buffers are then merged without locks: a prefix sum over the vertices,
+ * taking the blocks in order within each vertex, gives every block its own
+ * run of slots in each vertex's edge range, and the blocks scatter their
+ * edges into those slots in parallel. Each vertex lists its edges block by
+ * block, in the order they were generated.
+ *
+ * The blocks depend only on n and p, never on the pool, so a given seed
+ * builds the same graph on any number of threads. It is not the graph
+ * new CompactGraph() builds from that seed, as the blocks draw from split
+ * streams.
+ */
+public class ParallelGraphBuilder
+{
+  private static final int MAX_BLOCKS = 64;
+  private static final int MIN_BLOCK_EDGES = 1 << 14;  // fewer and a block is not worth a task
+  private static final int VERTEX_GRAIN = 1 << 13;     // vertices per prefix-sum task
+
+  private ForkJoinPool _pool;
+
+  /* ( Constructors ) ******************************************************* */
+
+  public ParallelGraphBuilder(ForkJoinPool pool)
+  {
+    _pool = pool;
+  }
+
+  /* ( Construction ) ******************************************************* */
+
+  public CompactGraph build(int numVertices, double edgeProbability, EdgeGenerator.Mode mode,
+      SplittableRandom random)
+  {
+    int[] rows = rowBoundaries(mode, numVertices, blockCount(numVertices, edgeProbability));
+    EdgeBuffer[] blocks = new EdgeBuffer[rows.length - 1];
+
+    for (int b = 0; b < blocks.length; ++b)
+      blocks[b] = new EdgeBuffer(numVertices, edgeProbability, mode, rows[b], rows[b + 1],
+          random.split());
+
+    int[] offsets = new int[numVertices + 1];
+
+    _pool.invoke(new PhaseTask(Phase.GENERATE, blocks, offsets, null, null, 0, blocks.length));
+    _pool.invoke(new PhaseTask(Phase.COUNT, blocks, offsets, null, null, 0, numVertices));
+
+    for (int v = 0; v < numVertices; ++v)
+      offsets[v + 1] += offsets[v];
+
+    _pool.invoke(new PhaseTask(Phase.PLACE, blocks, offsets, null, null, 0, numVertices));
+
+    int[] targets = new int[offsets[numVertices]];
+    double[] weights = new double[offsets[numVertices]];
+
+    _pool.invoke(new PhaseTask(Phase.SCATTER, blocks, offsets, targets, weights, 0, blocks.length));
+
+    return new CompactGraph(numVertices, offsets, targets, weights);
+  }
+
+  /*
+   * One block per MIN_BLOCK_EDGES expected edges, at most MAX_BLOCKS, and no
+   * more than the average degree, so the blocks' degree counts (n ints each)
+   * take no more room than the edges.
+   */
+  private static int blockCount(int numVertices, double edgeProbability)
+  {
+    double expectedEdges = Math.max(0.0, Math.min(1.0, edgeProbability))
+        * numVertices * (numVertices - 1.0) / 2;
+
+    double blocks = Math.min(expectedEdges / MIN_BLOCK_EDGES,
+        2 * expectedEdges / Math.max(1, numVertices));
+
+    return (int) Math.max(1, Math.min(MAX_BLOCKS, blocks));
+  }
+
+  /*
+   * Row boundaries 0 = rows[0] <= ... <= rows[blocks] = n, cut where the
+   * running pair count passes each multiple of an equal share
+   */
+  private static int[] rowBoundaries(EdgeGenerator.Mode mode, int numVertices, int blocks)
+  {
+    long totalPairs = (long) numVertices * (numVertices - 1) / 2;
+    int[] rows = new int[blocks + 1];
+
+    long pairs = 0;
+    int b = 1;
+
+    for (int row = 0; row < numVertices && b < blocks; ++row)
+    {
+      pairs += EdgeGenerator.rowPairs(mode, numVertices, row);
+
+      while (b < blocks && pairs * blocks >= totalPairs * b)
+        rows[b++] = row + 1;
+    }
+
+    while (b <= blocks)
+      rows[b++] = numVertices;
+
+    return rows;
+  }
+
+  /* ( Classes ) ************************************************************ */
+
+  private enum Phase
+  {
+    GENERATE, COUNT, PLACE, SCATTER
+  }
+
+  /*
+   * The edges of one row block, and how many of them touch each vertex.
+   * After PLACE, the counts are the block's next slot in each vertex's range.
+   */
+  private static class EdgeBuffer implements EdgeSink
+  {
+    private int                _numVertices;
+    private double             _edgeProbability;
+    private EdgeGenerator.Mode _mode;
+    private int                _firstRow;
+    private int                _lastRow;
+    private SplittableRandom   _random;
+
+    private int                _numEdges;
+    private int[]              _sources;
+    private int[]              _destinations;
+    private double[]           _edgeWeights;
+    private int[]              _degrees;
+
+    public EdgeBuffer(int numVertices, double edgeProbability, EdgeGenerator.Mode mode,
+        int firstRow, int lastRow, SplittableRandom random)
+    {
+      _numVertices = numVertices;
+      _edgeProbability = edgeProbability;
+      _mode = mode;
+      _firstRow = firstRow;
+      _lastRow = lastRow;
+      _random = random;
+    }
+
+    public void generate()
+    {
+      _sources = new int[16];
+      _destinations = new int[16];
+      _edgeWeights = new double[16];
+      _degrees = new int[_numVertices];
+
+      EdgeGenerator.generate(_mode, _numVertices, _edgeProbability, _random, this, _firstRow,
+          _lastRow);
+    }
+
+    @Override
+    public void addEdge(int u, int v, double weight)
+    {
+      if (_numEdges == _sources.length)
+      {
+        int capacity = _sources.length * 2;
+
+        _sources = Arrays.copyOf(_sources, capacity);
+        _destinations = Arrays.copyOf(_destinations, capacity);
+        _edgeWeights = Arrays.copyOf(_edgeWeights, capacity);
+      }
+
+      _sources[_numEdges] = u;
+      _destinations[_numEdges] = v;
+      _edgeWeights[_numEdges] = weight;
+      ++_numEdges;
+
+      ++_degrees[u];
+      ++_degrees[v];
+    }
+
+    public void scatter(int[] targets, double[] weights)
+    {
+      int[] next = _degrees;
+
+      for (int e = 0; e < _numEdges; ++e)
+      {
+        int u = _sources[e];
+        int v = _destinations[e];
+
+        targets[next[u]] = v;
+        weights[next[u]++] = _edgeWeights[e];
+
+        targets[next[v]] = u;
+        weights[next[v]++] = _edgeWeights[e];
+      }
+
+      // The buffer is spent; let it go before the graph is returned
+      _sources = null;
+      _destinations = null;
+      _edgeWeights = null;
+      _degrees = null;
+    }
+  }
+
+  /*
+   * Runs one phase over blocks or vertices [from, to), halving the range
+   * until it is one block or VERTEX_GRAIN vertices.
+   *
+   * GENERATE: fill each block's buffer.
+   * COUNT:    offsets[v + 1] = degree of v, summed over the blocks.
+   * PLACE:    turn each block's degree of v into its first slot for v.
+   * SCATTER:  write each block's edges into its slots.
+   */
+  private static class PhaseTask extends RecursiveAction
+  {
+    private static final long serialVersionUID = 1L;
+
+    private Phase             _phase;
+    private EdgeBuffer[]      _blocks;
+    private int[]             _offsets;
+    private int[]             _targets;
+    private double[]          _weights;
+    private int               _from;
+    private int               _to;
+
+    public PhaseTask(Phase phase, EdgeBuffer[] blocks, int[] offsets, int[] targets,
+        double[] weights, int from, int to)
+    {
+      _phase = phase;
+      _blocks = blocks;
+      _offsets = offsets;
+      _targets = targets;
+      _weights = weights;
+      _from = from;
+      _to = to;
+    }
+
+    @Override
+    protected void compute()
+    {
+      int grain = (_phase == Phase.COUNT || _phase == Phase.PLACE) ? VERTEX_GRAIN : 1;
+
+      if (_to - _from > grain)
+      {
+        int middle = (_from + _to) >>> 1;
+
+        invokeAll(new PhaseTask(_phase, _blocks, _offsets, _targets, _weights, _from, middle),
+            new PhaseTask(_phase, _blocks, _offsets, _targets, _weights, middle, _to));
+
+        return;
+      }
+
+      switch (_phase)
+      {
+        case GENERATE:
+          for (int b = _from; b < _to; ++b)
+            _blocks[b].generate();
+          break;
+
+        case COUNT:
+          for (EdgeBuffer block : _blocks)
+            for (int v = _from; v < _to; ++v)
+              _offsets[v + 1] += block._degrees[v];
+          break;
+
+        case PLACE:
+          int[] next = Arrays.copyOfRange(_offsets, _from, _to);
+
+          for (EdgeBuffer block : _blocks)
+          {
+            for (int v = _from; v < _to; ++v)
+            {
+              int degree = block._degrees[v];
+              block._degrees[v] = next[v - _from];
+              next[v - _from] += degree;
+            }
+          }
+          break;
+
+        default:
+          for (int b = _from; b < _to; ++b)
+            _blocks[b].scatter(_targets, _weights);
+          break;
+      }
+    }
+  }
+}
@@ -1,74 +1,89 @@
 import java.math.BigDecimal;
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.ListIterator;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 public class RandomGraph
 {
-  private Random       _randomGenerator;
+  private SplittableRandom _randomGenerator;
 
-  private int          _numVertices;
-  private double       _edgeProbability;
+  private int              _numVertices;
+  private double           _edgeProbability;
 
-  private List<Vertex> _vertices;
+  private List<Vertex>     _vertices;
 
   /* ( Constructors ) ******************************************************* */
 
   public RandomGraph(int numVertices, double edgeProbability)
   {
-    _randomGenerator = new Random();
+    this(numVertices, edgeProbability, EdgeGenerator.Mode.PAIRWISE);
+  }
+
+  public RandomGraph(int numVertices, double edgeProbability, EdgeGenerator.Mode mode)
+  {
+    this(numVertices, edgeProbability, mode, new SplittableRandom());
+  }
+
+  public RandomGraph(int numVertices, double edgeProbability, long seed)
+  {
+    this(numVertices, edgeProbability, EdgeGenerator.Mode.PAIRWISE, new SplittableRandom(seed));
+  }
+
+  public RandomGraph(int numVertices, double edgeProbability, SplittableRandom randomGenerator)
+  {
+    this(numVertices, edgeProbability, EdgeGenerator.Mode.PAIRWISE, randomGenerator);
+  }
+
+  /*
+   * SplittableRandom is not thread-safe, so each graph needs its own
+   * generator; a split() of a shared one gives a reproducible, independent
+   * stream per graph.
+   */
+  public RandomGraph(int numVertices, double edgeProbability, EdgeGenerator.Mode mode,
+      SplittableRandom randomGenerator)
+  {
+    _randomGenerator = randomGenerator;
 
     setNumVertices(numVertices);
     setEdgeProbability(edgeProbability);
 
     createVertices();
-    createEdges();
+    createEdges(mode);
   }
 
   /* ( Initialization ) ***************************************************** */
 
   private void createVertices()
   {
-    _vertices = new LinkedList<Vertex>();
+    _vertices = new ArrayList<Vertex>(_numVertices);
 
     for (int i = 0; i < _numVertices; ++i)
       _vertices.add(new Vertex(i));
   }
 
-  private void createEdges()
+  private void createEdges(EdgeGenerator.Mode mode)
   {
-    ListIterator<Vertex> currentVertexIterator = _vertices.listIterator();
-
-    int index = 1;
-    while (currentVertexIterator.hasNext())
-    {
-      Vertex currentVertex = currentVertexIterator.next();
-      ListIterator<Vertex> nextVertexIterator = _vertices.listIterator(index);
-
-      while (nextVertexIterator.hasNext())
-      {
-        Vertex nextVertex = nextVertexIterator.next();
-
-        if (_randomGenerator.nextDouble() < getEdgeProbability())
+    EdgeGenerator.generate(mode, getNumVertices(), getEdgeProbability(), _randomGenerator,
+        new EdgeSink()
         {
-          // Edge from (v, u)
-          double edgeWeight = _randomGenerator.nextDouble();
-          
-          Edge toCurrent = new Edge(currentVertex, edgeWeight);
-
-          // Edge from (u, v)
-          Edge toNext = new Edge(nextVertex, edgeWeight);
-
-          currentVertex.addEdge(toNext);
-          nextVertex.addEdge(toCurrent);
-        }
-      }
-
-      ++index;
-    }
+          @Override
+          public void addEdge(int u, int v, double edgeWeight)
+          {
+            Vertex currentVertex = _vertices.get(u);
+            Vertex nextVertex = _vertices.get(v);
+
+            // Edge from (v, u)
+            Edge toCurrent = new Edge(currentVertex, edgeWeight);
+
+            // Edge from (u, v)
+            Edge toNext = new Edge(nextVertex, edgeWeight);
+
+            currentVertex.addEdge(toNext);
+            nextVertex.addEdge(toCurrent);
+          }
+        });
   }
 
   /* ( Iterators ) ********************************************************** */
@@ -95,7 +110,7 @@ public class RandomGraph
     return _edgeProbability;
   }
 
-  private int getNumVertices()
+  public int getNumVertices()
   {
     return _numVertices;
   }
@@ -190,101 +205,4 @@ public class RandomGraph
     }
 
   }
- ///////////******BEGIN JOHN'S EDIT*******////////////
- //////HANDLES THE MST TREE TO DETERMINE DIAMETER//////
-  public static class Tree {
-	  private HashMap<Integer, Node> nodes = new HashMap<Integer, Node>();
-	  private Node root;
-	  
-	  public Tree (Vertex r) {
-		  setRoot(r);
-		  nodes.put(new Integer(r.getLabel()), getRoot());
-	  }
-	  
-	  public void insert (Vertex parent, Vertex child, double minEdge) {
-		  Node n = new Node(child);
-		  Integer parentKey = new Integer(parent.getLabel());
-		  n.setCost(minEdge);
-		  n.setParent(nodes.get(parentKey));
-		  nodes.get(parentKey).addChild(n);
-		  nodes.put(new Integer(child.getLabel()), n);
-	  }
-	  
-	  public double longestPath (Node n) {
-		  double lp = 0.0;
-		  
-		  if (n.children.isEmpty()) {
-			  return n.getCost();
-		  }
-		  else {
-			  Iterator<Node> nodeIterator = n.childIterator();
-			  
-			  while (nodeIterator.hasNext()) {
-				  Node c = nodeIterator.next();
-				  double current = n.getCost() + longestPath(c);
-				  if (lp < current) {
-					  lp = current;
-				  }
-			  }
-		  }
-		  
-		  return lp;
-	  }
-	  
-	  
-	  public void setRoot (Vertex r) {
-		  root = new Node (r);
-	  }
-	  
-	  public Node getRoot () {
-		  return root;
-	  }
-  }
-  
- //////TREE REPRESENTATION OF VERTEXES FROM THE GRAPH///////
-  public static class Node {
-	  private Vertex refVertex;
-	  private Node parent;
-	  private List<Node> children;
-	  private double cost;
-	  
-	  public Node (Vertex v) {
-		  setVertex(new Vertex(v.getLabel()));
-		  setCost(0.0);
-		  children = new LinkedList<Node>();
-	  }
-	  
-	  public void setVertex (Vertex v) {
-		  refVertex = v;
-	  }
-	  
-	  public Vertex getVertex () {
-		  return refVertex;
-	  }
-	  
-	  public void setParent (Node p) {
-		  parent = p;
-	  }
-	  
-	  public Node getParent () {
-		  return parent;
-	  }
-	  
-	  public void setCost (double c) {
-		  cost = c;
-	  }
-	  
-	  public double getCost() {
-		  return cost;
-	  }
-	  
-	  public Iterator<Node> childIterator() {
-	      return children.iterator();
-	  }
-
-	  public void addChild(Node child) {
-	      children.add(child);
-	  }
-  }
-////////////*******END JOHN'S EDIT********////////////
 }
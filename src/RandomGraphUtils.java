@@ -1,12 +1,30 @@
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 public class RandomGraphUtils
 {
+  public enum DfsEngine
+  {
+    RECURSIVE, ITERATIVE
+  }
+
+  public enum MstEngine
+  {
+    SCAN, HEAP_PRIM, SPANNING_FOREST, BORUVKA
+  }
+
   private RandomGraph                             _randomGraph;
-  private HashMap<RandomGraph.Vertex, BreadCrumb> _crumbs;
+  private CompactGraph                            _compactGraph;
+  private CompactGraph                            _adjacency;
+  private BreadCrumbs                             _crumbs;
+  private SpanningForest                          _spanningForest;
+
+  private DfsEngine                               _dfsEngine;
+  private MstEngine                               _mstEngine;
+  private ForkJoinPool                            _pool;
 
   private int                                     _connectedComponents;
   private int                                     _visitCount;
@@ -19,19 +37,32 @@ public class RandomGraphUtils
     setVisitCount(0);
     setConnectedComponents(0);
     setRandomGraph(randomGraph);
-    createCrumbs();
+    setDfsEngine(DfsEngine.RECURSIVE);
+    setMstEngine(MstEngine.SCAN);
+    setPool(ForkJoinPool.commonPool());
+    createCrumbs(randomGraph.getNumVertices());
   }
 
-  /* ( Initialization ) ***************************************************** */
-
-  private void createCrumbs()
+  public RandomGraphUtils(CompactGraph compactGraph)
   {
-    _crumbs = new HashMap<RandomGraph.Vertex, BreadCrumb>();
+    setVisitCount(0);
+    setConnectedComponents(0);
+    setCompactGraph(compactGraph);
+    setDfsEngine(DfsEngine.RECURSIVE);
+    setMstEngine(MstEngine.SCAN);
+    setPool(ForkJoinPool.commonPool());
+    createCrumbs(compactGraph.getNumVertices());
+  }
 
-    Iterator<RandomGraph.Vertex> i = _randomGraph.iterator();
+  /* ( Initialization ) ***************************************************** */
 
-    while (i.hasNext())
-      _crumbs.put(i.next(), new BreadCrumb());
+  /*
+   * Vertex labels run from 0 to n - 1, so the crumbs of both graph types are
+   * kept in label-indexed arrays.
+   */
+  private void createCrumbs(int numVertices)
+  {
+    _crumbs = new BreadCrumbs(numVertices);
   }
 
   /* ( Traversal ) ********************************************************** */
@@ -43,14 +74,25 @@ public class RandomGraphUtils
     setConnectedComponents(0);
     setVisitCount(0);
 
+    if (getDfsEngine() == DfsEngine.ITERATIVE)
+    {
+      performIterativeDfs();
+      return;
+    }
+
+    if (getCompactGraph() != null)
+    {
+      performCompactDfs();
+      return;
+    }
+
     Iterator<RandomGraph.Vertex> i = _randomGraph.iterator();
 
     while (i.hasNext())
     {
       RandomGraph.Vertex v = i.next();
-      BreadCrumb b = _crumbs.get(v);
 
-      if (!b.isVisited())
+      if (!_crumbs.isVisited(v.getLabel()))
       {
         setConnectedComponents(getConnectedComponents() + 1);
         explore(v);
@@ -58,8 +100,105 @@ public class RandomGraphUtils
     }
   }
 
+  /*
+   * The component labels and count performDfs() gives, found on the pool
+   * with a ConcurrentUnionFind instead of a traversal. Enough for findMst();
+   * previsit and postvisit numbers are left alone.
+   */
+  public void performParallelComponents()
+  {
+    setVisitCount(0);
+    setConnectedComponents(ConcurrentUnionFind.labelComponents(getAdjacency(), getPool(), _crumbs));
+  }
+
+  private void performCompactDfs()
+  {
+    for (int v = 0; v < _crumbs.size(); ++v)
+    {
+      if (!_crumbs.isVisited(v))
+      {
+        setConnectedComponents(getConnectedComponents() + 1);
+        explore(v);
+      }
+    }
+  }
+
+  /*
+   * Same traversal as the recursive DFS, driven by an explicit int stack so
+   * the depth of the graph is limited only by the heap. nextEdges[v] is the
+   * next edge of v to try; previsit and postvisit numbers come out the same.
+   */
+  private void performIterativeDfs()
+  {
+    CompactGraph graph = getAdjacency();
+
+    int[] stack = new int[graph.getNumVertices()];
+    int[] nextEdges = new int[graph.getNumVertices()];
+
+    for (int root = 0; root < graph.getNumVertices(); ++root)
+    {
+      if (_crumbs.isVisited(root))
+        continue;
+
+      setConnectedComponents(getConnectedComponents() + 1);
+
+      int top = 0;
+      stack[top++] = root;
+      nextEdges[root] = graph.getEdgeStart(root);
+      previsit(root);
+
+      while (top > 0)
+      {
+        int vertex = stack[top - 1];
+
+        if (nextEdges[vertex] < graph.getEdgeEnd(vertex))
+        {
+          int edgeVertex = graph.getTarget(nextEdges[vertex]++);
+
+          if (!_crumbs.isVisited(edgeVertex))
+          {
+            stack[top++] = edgeVertex;
+            nextEdges[edgeVertex] = graph.getEdgeStart(edgeVertex);
+            previsit(edgeVertex);
+          }
+        }
+        else
+        {
+          --top;
+          setVisitCount(getVisitCount() + 1);
+          _crumbs.setPostvisit(vertex, getVisitCount());
+        }
+      }
+    }
+  }
+
+  private void previsit(int vertex)
+  {
+    _crumbs.setVisited(vertex, true);
+    _crumbs.setConnectedComponent(vertex, getConnectedComponents());
+    setVisitCount(getVisitCount() + 1);
+    _crumbs.setPrevisit(vertex, getVisitCount());
+  }
+
   public double[] findMst()
   {
+    if (_spanningForest == null || _spanningForest.capacity() < _crumbs.size())
+      _spanningForest = new SpanningForest(_crumbs.size());
+    else
+      _spanningForest.clear();
+
+    if (getMstEngine() == MstEngine.HEAP_PRIM)
+      return findHeapPrimMst();
+
+    if (getMstEngine() == MstEngine.SPANNING_FOREST)
+      return findSpanningForest();
+
+    if (getMstEngine() == MstEngine.BORUVKA)
+      return findBoruvkaMst();
+
+    if (getCompactGraph() != null)
+      return findCompactMst();
+
 	double[] mstCosts = new double[getConnectedComponents()];
 	
     int connectedComponents = getConnectedComponents();
@@ -84,18 +223,18 @@ public class RandomGraphUtils
       while (vertexIterator.hasNext() && !firstNodeFound)
       {
         selectedVertex = vertexIterator.next();
-        BreadCrumb selectedVertexCrumb = _crumbs.get(selectedVertex);
+        int selectedLabel = selectedVertex.getLabel();
 
-        if (selectedVertexCrumb.getConnectedComponent() == cc + 1)
+        if (_crumbs.getConnectedComponent(selectedLabel) == cc + 1)
         {
           firstNodeFound = true;
-          selectedVertexCrumb.setVisited(true);
+          _crumbs.setVisited(selectedLabel, true);
           vertexList.add(selectedVertex);          
         }
       }
 
-      // Create a new tree with the selected vertex as the root
-      RandomGraph.Tree tree = new RandomGraph.Tree(selectedVertex);
+      // Start a new tree with the selected vertex as the root
+      _spanningForest.addRoot(selectedVertex.getLabel());
 
       boolean minimumSpanningTreeComplete = false;
 
@@ -123,9 +262,8 @@ public class RandomGraphUtils
             RandomGraph.Edge edge = edges.next();
 
             RandomGraph.Vertex tempVertex = edge.getVertex();
-            BreadCrumb tempCrumb = _crumbs.get(tempVertex);
 
-            if (!tempCrumb.isVisited() && edge.getWeight() < cheapestEdge)
+            if (!_crumbs.isVisited(tempVertex.getLabel()) && edge.getWeight() < cheapestEdge)
             {
               parentVertex = candidateVertex;
               cheapestEdge = edge.getWeight();
@@ -139,14 +277,14 @@ public class RandomGraphUtils
         {
           mstCosts[cc] += cheapestEdge;
           vertexList.add(nextVertex);
-          _crumbs.get(nextVertex).setVisited(true);
+          _crumbs.setVisited(nextVertex.getLabel(), true);
 
-          tree.insert(parentVertex, nextVertex, cheapestEdge);
+          _spanningForest.addEdge(parentVertex.getLabel(), nextVertex.getLabel(), cheapestEdge);
         }
         else
         {
           minimumSpanningTreeComplete = true;
-          setMstDiameters(tree.longestPath(tree.getRoot()));
+          setMstDiameters(_spanningForest.getTreeDiameter());
         }
       }
     }
@@ -154,40 +292,342 @@ public class RandomGraphUtils
     return mstCosts;
   }
 
+  /*
+   * Same algorithm as findMst(), run over the compact graph. The vertices of
+   * the growing tree are kept in an int array, so no per-edge objects are
+   * created.
+   */
+  private double[] findCompactMst()
+  {
+    CompactGraph graph = getCompactGraph();
+
+    int connectedComponents = getConnectedComponents();
+    double[] mstCosts = new double[connectedComponents];
+
+    int[] vertexList = new int[graph.getNumVertices()];
+
+    setAllCrumbsVisitedTo(false);
+
+    for (int cc = 0; cc < connectedComponents; ++cc)
+    {
+      int treeSize = 0;
+      mstCosts[cc] = 0;
+
+      // Find the first vertex to start the MST
+      int selectedVertex = 0;
+
+      while (_crumbs.getConnectedComponent(selectedVertex) != cc + 1)
+        ++selectedVertex;
+
+      _crumbs.setVisited(selectedVertex, true);
+      vertexList[treeSize++] = selectedVertex;
+
+      // Start a new tree with the selected vertex as the root
+      _spanningForest.addRoot(selectedVertex);
+
+      boolean minimumSpanningTreeComplete = false;
+
+      while (!minimumSpanningTreeComplete)
+      {
+        boolean edgeFound = false;
+        double cheapestEdge = Double.MAX_VALUE;
+
+        int parentVertex = -1;
+        int nextVertex = -1;
+
+        // Find the cheapest edge leaving the tree
+        for (int t = 0; t < treeSize; ++t)
+        {
+          int candidateVertex = vertexList[t];
+
+          for (int e = graph.getEdgeStart(candidateVertex); e < graph.getEdgeEnd(candidateVertex); ++e)
+          {
+            int tempVertex = graph.getTarget(e);
+
+            if (!_crumbs.isVisited(tempVertex) && graph.getWeight(e) < cheapestEdge)
+            {
+              parentVertex = candidateVertex;
+              cheapestEdge = graph.getWeight(e);
+              nextVertex = tempVertex;
+              edgeFound = true;
+            }
+          }
+        }
+
+        if (edgeFound)
+        {
+          mstCosts[cc] += cheapestEdge;
+          vertexList[treeSize++] = nextVertex;
+          _crumbs.setVisited(nextVertex, true);
+
+          _spanningForest.addEdge(parentVertex, nextVertex, cheapestEdge);
+        }
+        else
+        {
+          minimumSpanningTreeComplete = true;
+          setMstDiameters(_spanningForest.getTreeDiameter());
+        }
+      }
+    }
+
+    return mstCosts;
+  }
+
+  /*
+   * Prim's algorithm with an indexed binary heap, O(E log V). Each vertex
+   * outside the tree is keyed by its cheapest edge into the tree, so vertices
+   * join in the same order as with the scanning search and the costs and
+   * trees are the same.
+   */
+  private double[] findHeapPrimMst()
+  {
+    CompactGraph graph = getAdjacency();
+
+    int connectedComponents = getConnectedComponents();
+    double[] mstCosts = new double[connectedComponents];
+
+    int[] parents = new int[graph.getNumVertices()];
+    IndexedMinHeap heap = new IndexedMinHeap(graph.getNumVertices());
+
+    setAllCrumbsVisitedTo(false);
+
+    for (int cc = 0; cc < connectedComponents; ++cc)
+    {
+      // Find the first vertex to start the MST
+      int selectedVertex = 0;
+
+      while (_crumbs.getConnectedComponent(selectedVertex) != cc + 1)
+        ++selectedVertex;
+
+      mstCosts[cc] = growPrimTree(graph, heap, parents, selectedVertex);
+    }
+
+    return mstCosts;
+  }
+
+  /*
+   * Builds every component's MST in one sweep over the vertices. Components
+   * are numbered by their lowest vertex, so the first unvisited vertex met by
+   * the sweep is the same root the per-component search would pick, and its
+   * DFS label says which cost it fills.
+   */
+  private double[] findSpanningForest()
+  {
+    CompactGraph graph = getAdjacency();
+
+    double[] mstCosts = new double[getConnectedComponents()];
+
+    // No components are labelled until performDfs(); like the per-component
+    // engines, find nothing rather than index an empty array
+    if (mstCosts.length == 0)
+      return mstCosts;
+
+    int[] parents = new int[graph.getNumVertices()];
+    IndexedMinHeap heap = new IndexedMinHeap(graph.getNumVertices());
+
+    setAllCrumbsVisitedTo(false);
+
+    for (int v = 0; v < graph.getNumVertices(); ++v)
+    {
+      if (!_crumbs.isVisited(v))
+        mstCosts[_crumbs.getConnectedComponent(v) - 1] = growPrimTree(graph, heap, parents, v);
+    }
+
+    return mstCosts;
+  }
+
+  /*
+   * Finds the forest's edges with BoruvkaForest on the pool, then lays each
+   * tree into the SpanningForest breadth first from its lowest vertex, the
+   * root the other engines start from. The trees are the same as Prim's when
+   * the weights are distinct; the costs are summed in breadth-first order,
+   * so they may differ from Prim's in the last bits.
+   */
+  private double[] findBoruvkaMst()
+  {
+    CompactGraph graph = getAdjacency();
+    int numVertices = graph.getNumVertices();
+
+    double[] mstCosts = new double[getConnectedComponents()];
+
+    // No components are labelled until performDfs(); find nothing rather
+    // than lay trees into an empty array
+    if (mstCosts.length == 0)
+      return mstCosts;
+
+    int[] sources = new int[Math.max(0, numVertices - 1)];
+    int[] arcs = new int[Math.max(0, numVertices - 1)];
+    int numEdges = BoruvkaForest.findEdges(graph, getPool(), sources, arcs);
+
+    // Pack the forest into a graph of its own, both directions of each edge
+    int[] offsets = new int[numVertices + 1];
+
+    for (int i = 0; i < numEdges; ++i)
+    {
+      ++offsets[sources[i] + 1];
+      ++offsets[graph.getTarget(arcs[i]) + 1];
+    }
+
+    for (int v = 0; v < numVertices; ++v)
+      offsets[v + 1] += offsets[v];
+
+    int[] next = Arrays.copyOf(offsets, numVertices);
+    int[] targets = new int[2 * numEdges];
+    double[] weights = new double[2 * numEdges];
+
+    for (int i = 0; i < numEdges; ++i)
+    {
+      int u = sources[i];
+      int v = graph.getTarget(arcs[i]);
+
+      targets[next[u]] = v;
+      weights[next[u]++] = graph.getWeight(arcs[i]);
+
+      targets[next[v]] = u;
+      weights[next[v]++] = graph.getWeight(arcs[i]);
+    }
+
+    CompactGraph forest = new CompactGraph(numVertices, offsets, targets, weights);
+    int[] queue = new int[numVertices];
+
+    setAllCrumbsVisitedTo(false);
+
+    for (int root = 0; root < numVertices; ++root)
+    {
+      if (_crumbs.isVisited(root))
+        continue;
+
+      double mstCost = 0;
+      int head = 0;
+      int tail = 0;
+
+      _spanningForest.addRoot(root);
+      _crumbs.setVisited(root, true);
+      queue[tail++] = root;
+
+      while (head < tail)
+      {
+        int vertex = queue[head++];
+
+        for (int e = forest.getEdgeStart(vertex); e < forest.getEdgeEnd(vertex); ++e)
+        {
+          int child = forest.getTarget(e);
+
+          if (_crumbs.isVisited(child))
+            continue;
+
+          mstCost += forest.getWeight(e);
+          _crumbs.setVisited(child, true);
+          _spanningForest.addEdge(vertex, child, forest.getWeight(e));
+          queue[tail++] = child;
+        }
+      }
+
+      mstCosts[_crumbs.getConnectedComponent(root) - 1] = mstCost;
+      setMstDiameters(_spanningForest.getTreeDiameter());
+    }
+
+    return mstCosts;
+  }
+
+  /*
+   * Grows the MST of root's component and returns its cost. The vertices of
+   * the tree are marked visited.
+   */
+  private double growPrimTree(CompactGraph graph, IndexedMinHeap heap, int[] parents, int root)
+  {
+    double mstCost = 0;
+
+    // Start a new tree with the selected vertex as the root
+    _spanningForest.addRoot(root);
+
+    _crumbs.setVisited(root, true);
+    relaxEdges(graph, heap, parents, root);
+
+    while (!heap.isEmpty())
+    {
+      int nextVertex = heap.removeMin();
+      double cheapestEdge = heap.getPriority(nextVertex);
+
+      mstCost += cheapestEdge;
+      _crumbs.setVisited(nextVertex, true);
+
+      _spanningForest.addEdge(parents[nextVertex], nextVertex, cheapestEdge);
+
+      relaxEdges(graph, heap, parents, nextVertex);
+    }
+
+    setMstDiameters(_spanningForest.getTreeDiameter());
+
+    return mstCost;
+  }
+
+  private void relaxEdges(CompactGraph graph, IndexedMinHeap heap, int[] parents, int vertex)
+  {
+    for (int e = graph.getEdgeStart(vertex); e < graph.getEdgeEnd(vertex); ++e)
+    {
+      int tempVertex = graph.getTarget(e);
+      double weight = graph.getWeight(e);
+
+      if (_crumbs.isVisited(tempVertex))
+        continue;
+
+      if (!heap.contains(tempVertex))
+      {
+        parents[tempVertex] = vertex;
+        heap.insert(tempVertex, weight);
+      }
+      else if (weight < heap.getPriority(tempVertex))
+      {
+        parents[tempVertex] = vertex;
+        heap.decreasePriority(tempVertex, weight);
+      }
+    }
+  }
+
   private void explore(RandomGraph.Vertex vertex)
   {
-    BreadCrumb currentVertexCrumb = _crumbs.get(vertex);
-    currentVertexCrumb.setVisited(true);
-    currentVertexCrumb.setConnectedComponent(getConnectedComponents());
-    setVisitCount(getVisitCount() + 1);
-    currentVertexCrumb.setPrevisit(getVisitCount());
+    previsit(vertex.getLabel());
 
     Iterator<RandomGraph.Edge> edges = vertex.iterator();
 
     while (edges.hasNext())
     {
       RandomGraph.Vertex edgeVertex = edges.next().getVertex();
-      BreadCrumb edgeVertexCrumb = _crumbs.get(edgeVertex);
 
-      if (!edgeVertexCrumb.isVisited())
+      if (!_crumbs.isVisited(edgeVertex.getLabel()))
       {
         explore(edgeVertex);
       }
     }
 
     setVisitCount(getVisitCount() + 1);
-    currentVertexCrumb.setPostvisit(getVisitCount());
+    _crumbs.setPostvisit(vertex.getLabel(), getVisitCount());
   }
 
-  private void setAllCrumbsVisitedTo(boolean visited)
+  private void explore(int vertex)
   {
-    Iterator<RandomGraph.Vertex> i = _randomGraph.iterator();
+    CompactGraph graph = getCompactGraph();
 
-    while (i.hasNext())
+    previsit(vertex);
+
+    for (int e = graph.getEdgeStart(vertex); e < graph.getEdgeEnd(vertex); ++e)
     {
-      BreadCrumb b = _crumbs.get(i.next());
-      b.setVisited(visited);
+      int edgeVertex = graph.getTarget(e);
+
+      if (!_crumbs.isVisited(edgeVertex))
+      {
+        explore(edgeVertex);
+      }
     }
+
+    setVisitCount(getVisitCount() + 1);
+    _crumbs.setPostvisit(vertex, getVisitCount());
+  }
+
+  private void setAllCrumbsVisitedTo(boolean visited)
+  {
+    _crumbs.setAllVisited(visited);
   }
 
   /* ( Accessors/Mutators ) ************************************************** */
@@ -212,6 +652,61 @@ public class RandomGraphUtils
     return _randomGraph;
   }
 
+  private void setCompactGraph(CompactGraph compactGraph)
+  {
+    _compactGraph = compactGraph;
+  }
+
+  private CompactGraph getCompactGraph()
+  {
+    return _compactGraph;
+  }
+
+  /*
+   * The array-based engines run over a compact graph. A RandomGraph is packed
+   * once, on first use.
+   */
+  private CompactGraph getAdjacency()
+  {
+    if (_adjacency == null)
+      _adjacency = (getCompactGraph() != null) ? getCompactGraph() : CompactGraph.of(getRandomGraph());
+
+    return _adjacency;
+  }
+
+  public DfsEngine getDfsEngine()
+  {
+    return _dfsEngine;
+  }
+
+  public void setDfsEngine(DfsEngine dfsEngine)
+  {
+    _dfsEngine = dfsEngine;
+  }
+
+  public ForkJoinPool getPool()
+  {
+    return _pool;
+  }
+
+  /*
+   * Where performParallelComponents() and the BORUVKA engine run
+   */
+  public void setPool(ForkJoinPool pool)
+  {
+    _pool = pool;
+  }
+
+  public MstEngine getMstEngine()
+  {
+    return _mstEngine;
+  }
+
+  public void setMstEngine(MstEngine mstEngine)
+  {
+    _mstEngine = mstEngine;
+  }
+
   private int getVisitCount()
   {
     return _visitCount;
@@ -227,97 +722,70 @@ public class RandomGraphUtils
 	_mstDiameters += d;
   }
   
+  /*
+   * Sum of the weighted diameters of the components' MSTs
+   */
   public double getMstDiameters()
   {
 	return _mstDiameters;
   }
-  /* ( Graph Display ) ****************************************************** */
 
-  public void printGraphStructure()
+  /*
+   * Every vertex's component, previsit and postvisit numbers from the last
+   * performDfs()
+   */
+  public BreadCrumbs getCrumbs()
   {
-    Iterator<RandomGraph.Vertex> i = getRandomGraph().iterator();
-
-    while (i.hasNext())
-      System.out.println(i.next().toString());
+    return _crumbs;
   }
 
-  public void printDfsSummary()
+  /*
+   * The trees built by the last findMst(), one per component
+   */
+  public SpanningForest getSpanningForest()
   {
-    System.out.println("Connected Components: " + _connectedComponents);
-    System.out.println("Vertices visited    : " + _visitCount);
+    return _spanningForest;
   }
 
-  public void printDfsDetails()
+  /*
+   * Lets findMst() refill a forest shared across graphs of the same size
+   * instead of allocating its own.
+   */
+  public void setSpanningForest(SpanningForest spanningForest)
   {
-    Iterator<RandomGraph.Vertex> i = getRandomGraph().iterator();
-
-    while (i.hasNext())
-    {
-      RandomGraph.Vertex v = i.next();
-      BreadCrumb b = _crumbs.get(v);
-
-      System.out.println("Vertex: " + v.getLabel() + ": previsit(" + b.getPrevisit()
-          + "), postvisit(" + b.getPostvisit() + "), connected component("
-          + b.getConnectedComponent() + ")");
-    }
+    _spanningForest = spanningForest;
   }
+  /* ( Graph Display ) ****************************************************** */
 
-  /* ( Classes ) ************************************************************ */
-
-  private class BreadCrumb
+  public void printGraphStructure()
   {
-    private boolean _visited;
-    private int     _connectedComponent;
-    private int     _previsit;
-    private int     _postvisit;
-
-    public BreadCrumb()
+    if (getCompactGraph() != null)
     {
-      setVisited(false);
-      setConnectedComponent(0);
-      setPrevisit(0);
-      setPostvisit(0);
-    }
+      for (int v = 0; v < getCompactGraph().getNumVertices(); ++v)
+        System.out.println(getCompactGraph().toString(v));
 
-    public void setVisited(boolean visited)
-    {
-      _visited = visited;
-    }
-
-    public boolean isVisited()
-    {
-      return _visited;
-    }
-
-    public void setConnectedComponent(int connectedComponent)
-    {
-      _connectedComponent = connectedComponent;
-    }
-
-    public int getConnectedComponent()
-    {
-      return _connectedComponent;
+      return;
     }
 
-    public void setPrevisit(int previsit)
-    {
-      _previsit = previsit;
-    }
+    Iterator<RandomGraph.Vertex> i = getRandomGraph().iterator();
 
-    public int getPrevisit()
-    {
-      return _previsit;
-    }
+    while (i.hasNext())
+      System.out.println(i.next().toString());
+  }
 
-    public void setPostvisit(int postvisit)
-    {
-      _postvisit = postvisit;
-    }
+  public void printDfsSummary()
+  {
+    System.out.println("Connected Components: " + _connectedComponents);
+    System.out.println("Vertices visited    : " + _visitCount);
+  }
 
-    public int getPostvisit()
+  public void printDfsDetails()
+  {
+    for (int v = 0; v < _crumbs.size(); ++v)
     {
-      return _postvisit;
+      System.out.println("Vertex: " + v + ": previsit(" + _crumbs.getPrevisit(v)
+          + "), postvisit(" + _crumbs.getPostvisit(v) + "), connected component("
+          + _crumbs.getConnectedComponent(v) + ")");
     }
   }
-
 }
@@ -0,0 +1,69 @@
+/*
+ * Mean and standard deviation of a stream of samples, using Welford's update.
+ * Partial results from different threads are merged with combine(), so the
+ * samples can be split up in any way.
+ */
+public class RunningStatistics
+{
+  private long   _count;
+  private double _mean;
+  private double _sumOfSquares;
+
+  /* ( Constructors ) ******************************************************* */
+
+  public RunningStatistics()
+  {
+    _count = 0;
+    _mean = 0.0;
+    _sumOfSquares = 0.0;
+  }
+
+  /* ( Operations ) ********************************************************* */
+
+  public void add(double sample)
+  {
+    ++_count;
+
+    double delta = sample - _mean;
+    _mean += delta / _count;
+    _sumOfSquares += delta * (sample - _mean);
+  }
+
+  public RunningStatistics combine(RunningStatistics other)
+  {
+    RunningStatistics combined = new RunningStatistics();
+
+    combined._count = _count + other._count;
+
+    if (combined._count == 0)
+      return combined;
+
+    double delta = other._mean - _mean;
+
+    combined._mean = _mean + delta * other._count / combined._count;
+    combined._sumOfSquares = _sumOfSquares + other._sumOfSquares + delta * delta * _count
+        * other._count / combined._count;
+
+    return combined;
+  }
+
+  /* ( Accessors ) ********************************************************** */
+
+  public long getCount()
+  {
+    return _count;
+  }
+
+  public double getMean()
+  {
+    return _mean;
+  }
+
+  /*
+   * Population standard deviation, as GraphAnalyzer has always reported it
+   */
+  public double getStandardDeviation()
+  {
+    return (_count == 0) ? 0.0 : Math.sqrt(_sumOfSquares / _count);
+  }
+}
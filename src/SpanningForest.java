@@ -0,0 +1,141 @@
+/*
+ * Minimum spanning forest stored as flat arrays over the vertices
+ * 0 .. n - 1: each vertex's parent and the cost of the edge to it, its first
+ * child and next sibling, plus the order in which vertices joined. Trees are
+ * added one after another, each starting at its root, and a vertex always
+ * joins after its parent.
+ *
+ * The arrays are sized once; clear() empties the forest so the same one can
+ * be refilled for every sample without allocating.
+ */
+public class SpanningForest
+{
+  private int[]    _parents;
+  private double[] _costs;
+  private int[]    _firstChildren;
+  private int[]    _nextSiblings;
+  private int[]    _order;
+  private int      _size;
+  private int      _treeStart;
+
+  // Scratch space for getTreeDiameter()
+  private double[] _heights;
+
+  /* ( Constructors ) ******************************************************* */
+
+  public SpanningForest(int numVertices)
+  {
+    _parents = new int[numVertices];
+    _costs = new double[numVertices];
+    _firstChildren = new int[numVertices];
+    _nextSiblings = new int[numVertices];
+    _order = new int[numVertices];
+    _heights = new double[numVertices];
+
+    clear();
+  }
+
+  /* ( Construction ) ******************************************************* */
+
+  /*
+   * Forgets every tree. The vertices' entries are overwritten as they rejoin.
+   */
+  public void clear()
+  {
+    _size = 0;
+    _treeStart = 0;
+  }
+
+  /*
+   * Starts a new tree. Later edges belong to it until the next root.
+   */
+  public void addRoot(int root)
+  {
+    _treeStart = _size;
+
+    _parents[root] = -1;
+    _costs[root] = 0.0;
+    _firstChildren[root] = -1;
+    _nextSiblings[root] = -1;
+    _order[_size++] = root;
+  }
+
+  public void addEdge(int parent, int child, double cost)
+  {
+    _parents[child] = parent;
+    _costs[child] = cost;
+    _firstChildren[child] = -1;
+    _nextSiblings[child] = _firstChildren[parent];
+    _firstChildren[parent] = child;
+    _order[_size++] = child;
+  }
+
+  /* ( Diameter ) *********************************************************** */
+
+  /*
+   * Weighted diameter of the tree started by the last addRoot(): the costliest
+   * path between any two of its vertices. Children joined after their
+   * parents, so a single backwards pass over the join order sees every
+   * vertex's subtree before the vertex itself. Each vertex keeps the height of
+   * its deepest branch so far, and a new branch closes a path through the
+   * vertex with it. O(V), no recursion.
+   */
+  public double getTreeDiameter()
+  {
+    double diameter = 0.0;
+
+    for (int i = _treeStart; i < _size; ++i)
+      _heights[_order[i]] = 0.0;
+
+    for (int i = _size - 1; i > _treeStart; --i)
+    {
+      int child = _order[i];
+      int parent = _parents[child];
+
+      double branch = _heights[child] + _costs[child];
+
+      if (_heights[parent] + branch > diameter)
+        diameter = _heights[parent] + branch;
+
+      if (branch > _heights[parent])
+        _heights[parent] = branch;
+    }
+
+    return diameter;
+  }
+
+  /* ( Accessors ) ********************************************************** */
+
+  public int size()
+  {
+    return _size;
+  }
+
+  public int capacity()
+  {
+    return _parents.length;
+  }
+
+  public int getParent(int vertex)
+  {
+    return _parents[vertex];
+  }
+
+  public double getCost(int vertex)
+  {
+    return _costs[vertex];
+  }
+
+  /*
+   * Children are listed most recent first; -1 ends the list.
+   */
+  public int getFirstChild(int vertex)
+  {
+    return _firstChildren[vertex];
+  }
+
+  public int getNextSibling(int vertex)
+  {
+    return _nextSiblings[vertex];
+  }
+}
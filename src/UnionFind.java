@@ -0,0 +1,109 @@
+import java.util.SplittableRandom;
+
+/*
+ * Disjoint sets over the vertices 0 .. n - 1 with union by rank and path
+ * compression. As an EdgeSink it merges the endpoints of every edge it is
+ * given and forgets the edge, so a generator can stream a graph through it
+ * in O(n) memory.
+ */
+public class UnionFind implements EdgeSink
+{
+  private int[]  _parents;
+  private byte[] _ranks;
+
+  private int    _components;
+
+  /* ( Constructors ) ******************************************************* */
+
+  public UnionFind(int numVertices)
+  {
+    _parents = new int[numVertices];
+    _ranks = new byte[numVertices];
+
+    for (int v = 0; v < numVertices; ++v)
+      _parents[v] = v;
+
+    _components = numVertices;
+  }
+
+  /* ( Streaming ) ********************************************************** */
+
+  /*
+   * Number of connected components of a G(n, p) graph, generated and merged
+   * edge by edge. Given the same random generator state it agrees with
+   * RandomGraphUtils.getConnectedComponents() for the graph the same
+   * generator would build.
+   */
+  public static int countComponents(int numVertices, double edgeProbability,
+      EdgeGenerator.Mode mode, SplittableRandom random)
+  {
+    UnionFind unionFind = new UnionFind(numVertices);
+
+    EdgeGenerator.generate(mode, numVertices, edgeProbability, random, unionFind);
+
+    return unionFind.getComponents();
+  }
+
+  @Override
+  public void addEdge(int u, int v, double weight)
+  {
+    union(u, v);
+  }
+
+  /* ( Operations ) ********************************************************* */
+
+  public int find(int vertex)
+  {
+    int root = vertex;
+
+    while (_parents[root] != root)
+      root = _parents[root];
+
+    // Point every vertex on the path straight at the root
+    while (_parents[vertex] != root)
+    {
+      int next = _parents[vertex];
+      _parents[vertex] = root;
+      vertex = next;
+    }
+
+    return root;
+  }
+
+  /*
+   * Merges the sets of u and v. Returns false if they were already one set.
+   */
+  public boolean union(int u, int v)
+  {
+    int rootU = find(u);
+    int rootV = find(v);
+
+    if (rootU == rootV)
+      return false;
+
+    if (_ranks[rootU] < _ranks[rootV])
+    {
+      _parents[rootU] = rootV;
+    }
+    else if (_ranks[rootU] > _ranks[rootV])
+    {
+      _parents[rootV] = rootU;
+    }
+    else
+    {
+      _parents[rootV] = rootU;
+      ++_ranks[rootU];
+    }
+
+    --_components;
+
+    return true;
+  }
+
+  /* ( Accessors ) ********************************************************** */
+
+  public int getComponents()
+  {
+    return _components;
+  }
+}